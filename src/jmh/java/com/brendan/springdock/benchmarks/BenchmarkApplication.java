@@ -0,0 +1,139 @@
+package com.brendan.springdock.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.brendan.springdock.SpringdockApplication;
+import com.brendan.springdock.dto.BulkCreateResult;
+import com.brendan.springdock.dto.SkillDTO;
+import com.brendan.springdock.dto.UserDTO;
+import com.brendan.springdock.models.Skill.Difficulty;
+import com.brendan.springdock.services.SkillService;
+import com.brendan.springdock.services.UserService;
+
+/**
+ * Starts the application against a private in-memory H2 database and seeds reproducible fixtures.
+ * 
+ * Every benchmark trial gets its own database, and fixtures are generated from a fixed seed,
+ * so results can be compared between versions.
+ */
+public final class BenchmarkApplication {
+
+    // Seed for all generated fixture data
+    public static final long SEED = 42L;
+
+    private BenchmarkApplication() { }
+
+    /**
+     * Starts the application without a web server.
+     * 
+     * @return The running application context, to be closed at the end of the trial
+     */
+    public static ConfigurableApplicationContext start() {
+        return start(WebApplicationType.NONE);
+    }
+
+    /**
+     * Starts the application with the given web application type.
+     * 
+     * Properties are passed as command line arguments so they take precedence over application.properties.
+     * 
+     * @param webApplicationType Whether to start an embedded web server
+     * @param extraArgs Additional '--property=value' arguments
+     * @return The running application context, to be closed at the end of the trial
+     */
+    public static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of(
+            "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            "--spring.jpa.show-sql=false",
+            "--spring.main.banner-mode=off",
+            "--logging.level.root=WARN"
+        ));
+        args.addAll(List.of(extraArgs));
+        return new SpringApplicationBuilder(SpringdockApplication.class)
+            .web(webApplicationType)
+            .run(args.toArray(String[]::new));
+    }
+
+    /**
+     * Creates the given number of Skills with generated data.
+     * 
+     * @param context The running application context
+     * @param count The number of Skills to create
+     * @return The IDs of the created Skills
+     */
+    public static List<Long> seedSkills(ConfigurableApplicationContext context, int count) {
+        Random random = new Random(SEED);
+        Difficulty[] difficulties = Difficulty.values();
+        List<SkillDTO> skills = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            SkillDTO skill = new SkillDTO();
+            skill.setName("Skill " + i);
+            skill.setDescription("Generated description for skill number " + i + " used by the benchmarks.");
+            skill.setCategory("Category " + random.nextInt(20));
+            skill.setDifficulty(difficulties[random.nextInt(difficulties.length)]);
+            skills.add(skill);
+        }
+        BulkCreateResult result = context.getBean(SkillService.class).createSkills(skills);
+        return result.ids();
+    }
+
+    /**
+     * Creates the given number of Users and assigns each a random set of the given Skills.
+     * 
+     * @param context The running application context
+     * @param count The number of Users to create
+     * @param skillIds The IDs of the Skills to assign from
+     * @param skillsPerUser The number of Skills assigned to each User
+     * @return The IDs of the created Users
+     */
+    public static List<Long> seedUsers(ConfigurableApplicationContext context, int count, List<Long> skillIds, int skillsPerUser) {
+        Random random = new Random(SEED + 1);
+        List<UserDTO> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UserDTO user = new UserDTO();
+            user.setName("User " + i);
+            user.setEmail("user" + i + "@example.com");
+            users.add(user);
+        }
+        UserService userService = context.getBean(UserService.class);
+        List<Long> userIds = userService.createUsers(users).ids();
+
+        for (Long userId : userIds) {
+            userService.addSkillsToUser(userId, randomSubset(random, skillIds, skillsPerUser));
+        }
+        return userIds;
+    }
+
+    /**
+     * Picks a random subset of the given IDs.
+     * 
+     * @param random The random source
+     * @param ids The IDs to pick from
+     * @param size The number of IDs to pick
+     * @return The picked IDs, without duplicates
+     */
+    public static List<Long> randomSubset(Random random, List<Long> ids, int size) {
+        List<Long> subset = new ArrayList<>(size);
+        int limit = Math.min(size, ids.size());
+        while (subset.size() < limit) {
+            Long id = ids.get(random.nextInt(ids.size()));
+            if (!subset.contains(id)) {
+                subset.add(id);
+            }
+        }
+        return subset;
+    }
+    
+}
@@ -0,0 +1,110 @@
+package com.brendan.springdock.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.brendan.springdock.dto.SkillView;
+import com.brendan.springdock.dto.UserDetailView;
+import com.brendan.springdock.models.Skill.Difficulty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Benchmarks the response formats the API negotiates, JSON, Smile and CBOR, without a database.
+ *
+ * Measures the time to write a Skill list and a User with its Skills in each format, with and without
+ * gzip as applied by response compression. The bytes on the wire of every format are printed once per
+ * trial, at the start of the trial's output.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class ResponseFormatBenchmark {
+
+    // Number of Skills in the serialized list, and held by the serialized User
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    @Param({"json", "smile", "cbor"})
+    public String format;
+
+    private ObjectMapper objectMapper;
+    private List<SkillView> skills;
+    private UserDetailView user;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "json" -> new ObjectMapper();
+            case "smile" -> new ObjectMapper(new SmileFactory());
+            case "cbor" -> new ObjectMapper(new CBORFactory());
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        Random random = new Random(BenchmarkApplication.SEED);
+        Difficulty[] difficulties = Difficulty.values();
+
+        skills = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            skills.add(new SkillView(i + 1, "Skill " + i, "Generated description for skill number " + i + ".",
+                "Category " + random.nextInt(20), difficulties[random.nextInt(difficulties.length)], 0));
+        }
+
+        user = new UserDetailView(1, "Benchmark User", "benchmark@example.com", 0, List.copyOf(skills));
+
+        System.out.printf("%n%s, %d skills: skill list %d bytes (%d gzip), user with skills %d bytes (%d gzip)%n",
+            format, size,
+            serializeSkillList().length, serializeSkillListGzip().length,
+            serializeUserWithSkills().length, serializeUserWithSkillsGzip().length);
+    }
+
+    @Benchmark
+    public byte[] serializeSkillList() throws IOException {
+        return objectMapper.writeValueAsBytes(skills);
+    }
+
+    @Benchmark
+    public byte[] serializeUserWithSkills() throws IOException {
+        return objectMapper.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] serializeSkillListGzip() throws IOException {
+        return gzip(skills);
+    }
+
+    @Benchmark
+    public byte[] serializeUserWithSkillsGzip() throws IOException {
+        return gzip(user);
+    }
+
+    // Writes a value through gzip, as response compression does for responses over its threshold
+    private byte[] gzip(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, value);
+        }
+        return bytes.toByteArray();
+    }
+
+}
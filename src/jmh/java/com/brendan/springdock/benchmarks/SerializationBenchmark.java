@@ -0,0 +1,70 @@
+package com.brendan.springdock.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.brendan.springdock.dto.SkillView;
+import com.brendan.springdock.dto.UserDetailView;
+import com.brendan.springdock.models.Skill.Difficulty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Benchmarks Jackson serialization of the Skill and User read models returned by the API, without a database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class SerializationBenchmark {
+
+    // Number of Skills in the serialized list, and held by the serialized User
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<SkillView> skills;
+    private UserDetailView user;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        Random random = new Random(BenchmarkApplication.SEED);
+        Difficulty[] difficulties = Difficulty.values();
+
+        skills = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            skills.add(new SkillView(i + 1, "Skill " + i, "Generated description for skill number " + i + ".",
+                "Category " + random.nextInt(20), difficulties[random.nextInt(difficulties.length)], 0));
+        }
+
+        user = new UserDetailView(1, "Benchmark User", "benchmark@example.com", 0, List.copyOf(skills));
+    }
+
+    @Benchmark
+    public byte[] serializeSkillList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(skills);
+    }
+
+    @Benchmark
+    public byte[] serializeUserWithSkills() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(user);
+    }
+    
+}
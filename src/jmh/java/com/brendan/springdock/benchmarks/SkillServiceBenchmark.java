@@ -0,0 +1,103 @@
+package com.brendan.springdock.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.brendan.springdock.dto.CursorPage;
+import com.brendan.springdock.dto.SkillView;
+import com.brendan.springdock.models.Skill.Difficulty;
+import com.brendan.springdock.services.SkillService;
+
+/**
+ * Benchmarks the CRUD and list paths of SkillService against an in-memory H2 catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class SkillServiceBenchmark {
+
+    // Number of Skills in the catalog
+    @Param({"100", "1000", "10000"})
+    public int catalogSize;
+
+    // Number of IDs requested per getSkillsByIds call
+    @Param({"20"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private SkillService skillService;
+    private List<Long> skillIds;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        skillService = context.getBean(SkillService.class);
+        skillIds = BenchmarkApplication.seedSkills(context, catalogSize);
+        random = new Random(BenchmarkApplication.SEED);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public SkillView getSkillById() {
+        return skillService.getSkillById(randomSkillId());
+    }
+
+    @Benchmark
+    public List<SkillView> getSkillsByIds() {
+        return skillService.getSkillsByIds(BenchmarkApplication.randomSubset(random, skillIds, batchSize));
+    }
+
+    @Benchmark
+    public CursorPage<SkillView> getSkillsFirstPage() {
+        return skillService.getSkillsPage(null, CursorPage.DEFAULT_LIMIT);
+    }
+
+    @Benchmark
+    public CursorPage<SkillView> getSkillsDeepPage() {
+        // Continue after a skill near the end of the catalog, keyset pagination should cost the same as the first page
+        String cursor = CursorPage.encodeCursor(skillIds.get(skillIds.size() - Math.min(skillIds.size(), CursorPage.DEFAULT_LIMIT)));
+        return skillService.getSkillsPage(cursor, CursorPage.DEFAULT_LIMIT);
+    }
+
+    @Benchmark
+    public SkillView updateSkill() {
+        long id = randomSkillId();
+        return skillService.updateSkill(id, "Skill " + id, "Updated description", "Category 1", Difficulty.INTERMEDIATE);
+    }
+
+    @Benchmark
+    public long createAndDeleteSkill() {
+        SkillView skill = skillService.createSkill("Benchmark skill", "Created by the benchmark", "Benchmarks", Difficulty.NOVICE);
+        skillService.deleteSkill(skill.id());
+        return skill.id();
+    }
+
+    private long randomSkillId() {
+        return skillIds.get(random.nextInt(skillIds.size()));
+    }
+    
+}
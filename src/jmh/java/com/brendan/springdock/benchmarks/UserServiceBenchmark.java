@@ -0,0 +1,107 @@
+package com.brendan.springdock.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.brendan.springdock.dto.CursorPage;
+import com.brendan.springdock.dto.FieldSelection;
+import com.brendan.springdock.dto.SkillAssignmentDelta;
+import com.brendan.springdock.dto.SkillMatchMode;
+import com.brendan.springdock.dto.UserDetailView;
+import com.brendan.springdock.services.UserService;
+
+/**
+ * Benchmarks the CRUD, skill assignment and list paths of UserService against an in-memory H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class UserServiceBenchmark {
+
+    // Number of Users in the database
+    @Param({"100", "1000", "10000"})
+    public int userCount;
+
+    // Number of Skills each User holds
+    @Param({"5", "50"})
+    public int skillsPerUser;
+
+    // Number of Skills in the catalog
+    @Param({"500"})
+    public int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private List<Long> userIds;
+    private List<Long> skillIds;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        userService = context.getBean(UserService.class);
+        skillIds = BenchmarkApplication.seedSkills(context, catalogSize);
+        userIds = BenchmarkApplication.seedUsers(context, userCount, skillIds, skillsPerUser);
+        random = new Random(BenchmarkApplication.SEED);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserDetailView getUserById() {
+        return userService.getUserById(randomUserId());
+    }
+
+    @Benchmark
+    public CursorPage<?> getUsersFirstPage() {
+        return userService.getUsersPage(null, CursorPage.DEFAULT_LIMIT, FieldSelection.ALL_USER_FIELDS);
+    }
+
+    @Benchmark
+    public SkillAssignmentDelta addAndRemoveSkills() {
+        // Removing the same Skills afterwards keeps the data set stable between invocations
+        long userId = randomUserId();
+        List<Long> skills = BenchmarkApplication.randomSubset(random, skillIds, 10);
+        SkillAssignmentDelta added = userService.addSkillsToUser(userId, skills);
+        userService.removeSkillsFromUser(userId, added.added());
+        return added;
+    }
+
+    @Benchmark
+    public CursorPage<?> findUsersWithAllSkills() {
+        return userService.findUsersBySkills(BenchmarkApplication.randomSubset(random, skillIds, 2), SkillMatchMode.ALL, null, CursorPage.DEFAULT_LIMIT, FieldSelection.ALL_USER_FIELDS);
+    }
+
+    @Benchmark
+    public UserDetailView updateUser() {
+        long userId = randomUserId();
+        return userService.updateUser(userId, "User " + userId, "user" + userId + "@example.com");
+    }
+
+    private long randomUserId() {
+        return userIds.get(random.nextInt(userIds.size()));
+    }
+    
+}
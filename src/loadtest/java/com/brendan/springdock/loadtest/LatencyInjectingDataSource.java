@@ -0,0 +1,84 @@
+package com.brendan.springdock.loadtest;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource wrapper adding a fixed delay to every statement execution.
+ *
+ * Emulates the network round trip and query time of a remote database on top of the in-memory H2
+ * database, so the load test shows how the server behaves when requests spend most of their time
+ * waiting on the database while holding a pooled connection.
+ */
+public class LatencyInjectingDataSource extends DelegatingDataSource {
+
+    private final long latencyNanos;
+
+    public LatencyInjectingDataSource(DataSource targetDataSource, Duration latency) {
+        super(targetDataSource);
+        this.latencyNanos = latency.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        return (Connection) Proxy.newProxyInstance(
+            LatencyInjectingDataSource.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+                if (method.getDeclaringClass() == Object.class) {
+                    return invokeObjectMethod(proxy, connection, method, args);
+                }
+                Object result = invoke(connection, method, args);
+                return result instanceof Statement statement ? delayExecutions(statement) : result;
+            });
+    }
+
+    // Wraps a statement so each execution first waits for the configured latency
+    private Statement delayExecutions(Statement statement) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+            : statement instanceof PreparedStatement ? PreparedStatement.class
+            : Statement.class;
+        return (Statement) Proxy.newProxyInstance(
+            LatencyInjectingDataSource.class.getClassLoader(),
+            new Class<?>[] {type},
+            (proxy, method, args) -> {
+                if (method.getDeclaringClass() == Object.class) {
+                    return invokeObjectMethod(proxy, statement, method, args);
+                }
+                if (method.getName().startsWith("execute")) {
+                    Thread.sleep(Duration.ofNanos(latencyNanos));
+                }
+                return invoke(statement, method, args);
+            });
+    }
+
+    // Proxies are equal only to themselves, so they can be used as keys by Hibernate
+    private static Object invokeObjectMethod(Object proxy, Object target, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> target.toString();
+        };
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+}
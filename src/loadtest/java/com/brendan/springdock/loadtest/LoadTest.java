@@ -0,0 +1,273 @@
+package com.brendan.springdock.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.brendan.springdock.SpringdockApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * End-to-end HTTP load test.
+ *
+ * Starts the application in-process on a random port, seeds Skills and Users through the bulk
+ * endpoints, drives the configured request mix at a fixed arrival rate, and reports throughput
+ * and response time percentiles per operation. The full latency distributions are written as
+ * HdrHistogram percentile files (.hgrm) to the output directory.
+ *
+ * With several thread modes, for example '-Dloadtest.thread-modes=platform,virtual', the test runs
+ * once per mode against a fresh application and ends with a side-by-side comparison. Adding
+ * '-Dloadtest.db-latency=PT0.02S' delays every statement, emulating a remote database, which is
+ * where virtual threads and the platform thread pool behave differently.
+ *
+ * Run with: ./mvnw -Ploadtest test-compile exec:exec@loadtest -Dloadtest.rate=500
+ */
+public final class LoadTest {
+
+    // Seed for the fixture data and the request sequence, so runs are repeatable
+    private static final long SEED = 42L;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private LoadTest() { }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+
+        Map<String, OpenLoadGenerator.Result> results = new LinkedHashMap<>();
+        for (String threadMode : settings.threadModes()) {
+            System.out.printf("%n=== Thread mode: %s ===%n", threadMode);
+            OpenLoadGenerator.Result result = run(settings, threadMode);
+            report(result, System.out);
+            Path directory = Path.of(settings.outputDirectory());
+            writeHistograms(result, settings.threadModes().size() > 1 ? directory.resolve(threadMode) : directory);
+            results.put(threadMode, result);
+        }
+        if (results.size() > 1) {
+            compare(results, System.out);
+        }
+    }
+
+    // Runs the test once against a freshly started application
+    private static OpenLoadGenerator.Result run(LoadTestSettings settings, String threadMode) throws Exception {
+        try (ConfigurableApplicationContext context = startApplication(settings, threadMode)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI baseUri = URI.create("http://localhost:" + port);
+
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+            System.out.printf("Seeding %d skills and %d users with %d skills each...%n",
+                settings.skills(), settings.users(), settings.skillsPerUser());
+            RequestMix.Fixtures fixtures = seed(client, baseUri, settings);
+            RequestMix mix = RequestMix.parse(settings.mix(), fixtures);
+
+            System.out.printf("Request mix: %s%n", mix.describe());
+            System.out.printf("Arrival rate: %.1f requests/s, warmup %s, duration %s, database latency %s%n",
+                settings.rate(), settings.warmup(), settings.duration(), settings.dbLatency());
+
+            OpenLoadGenerator generator = new OpenLoadGenerator(client, mix, settings.rate());
+            Random random = new Random(SEED);
+            if (!settings.warmup().isZero()) {
+                generator.run(settings.warmup(), random);
+            }
+            return generator.run(settings.duration(), random);
+        }
+    }
+
+    // Starts the application on a random port, against an in-memory H2 database unless a datasource is configured
+    private static ConfigurableApplicationContext startApplication(LoadTestSettings settings, String threadMode) {
+        List<String> args = new ArrayList<>(List.of(
+            "--server.port=0",
+            "--spring.jpa.show-sql=false",
+            "--spring.main.banner-mode=off",
+            "--logging.level.root=WARN"
+        ));
+        if (settings.inMemoryDatabase()) {
+            args.addAll(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:loadtest-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop"
+            ));
+        } else {
+            args.addAll(List.of(
+                "--spring.datasource.url=" + settings.datasourceUrl(),
+                "--spring.datasource.username=" + settings.datasourceUsername(),
+                "--spring.datasource.password=" + settings.datasourcePassword()
+            ));
+        }
+        if (!threadMode.equals("default")) {
+            args.add("--spring.threads.virtual.enabled=" + threadMode.equals("virtual"));
+        }
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(SpringdockApplication.class)
+            .web(WebApplicationType.SERVLET);
+        if (!settings.dbLatency().isZero()) {
+            builder.initializers(context -> context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof LatencyInjectingDataSource)
+                        ? new LatencyInjectingDataSource(dataSource, settings.dbLatency())
+                        : bean;
+                }
+            }));
+        }
+        return builder.run(args.toArray(String[]::new));
+    }
+
+    // Seeds the fixtures through the HTTP API, the same way a client would
+    private static RequestMix.Fixtures seed(HttpClient client, URI baseUri, LoadTestSettings settings) throws IOException, InterruptedException {
+        Random random = new Random(SEED);
+        String[] difficulties = {"NOVICE", "BEGINNER", "INTERMEDIATE", "ADVANCED", "EXPERT"};
+
+        List<Map<String, Object>> skills = new ArrayList<>(settings.skills());
+        for (int i = 0; i < settings.skills(); i++) {
+            skills.add(Map.of(
+                "name", "Skill " + i,
+                "description", "Generated description for skill number " + i + " used by the load test.",
+                "category", "Category " + random.nextInt(20),
+                "difficulty", difficulties[random.nextInt(difficulties.length)]
+            ));
+        }
+        List<Long> skillIds = createAll(client, baseUri.resolve("/skills/bulk"), skills);
+
+        List<Map<String, Object>> users = new ArrayList<>(settings.users());
+        for (int i = 0; i < settings.users(); i++) {
+            users.add(Map.of("name", "User " + i, "email", "user" + i + "@example.com"));
+        }
+        List<Long> userIds = createAll(client, baseUri.resolve("/users/bulk"), users);
+
+        int skillsPerUser = Math.min(settings.skillsPerUser(), skillIds.size());
+        for (Long userId : userIds) {
+            Set<Long> assigned = new HashSet<>();
+            while (assigned.size() < skillsPerUser) {
+                assigned.add(skillIds.get(random.nextInt(skillIds.size())));
+            }
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/user/" + userId + "/skills/add?delta=true"))
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(assigned)))
+                .build();
+            expectSuccess(client.send(request, HttpResponse.BodyHandlers.ofString()));
+        }
+
+        return new RequestMix.Fixtures(baseUri, List.copyOf(skillIds), List.copyOf(userIds));
+    }
+
+    // Posts items to a bulk create endpoint and returns the IDs of the created rows
+    private static List<Long> createAll(HttpClient client, URI uri, List<Map<String, Object>> items) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(items)))
+            .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        expectSuccess(response);
+
+        JsonNode ids = MAPPER.readTree(response.body()).get("ids");
+        List<Long> result = new ArrayList<>(ids.size());
+        ids.forEach(id -> result.add(id.asLong()));
+        return result;
+    }
+
+    private static void expectSuccess(HttpResponse<String> response) {
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("Seeding failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    private static void report(OpenLoadGenerator.Result result, PrintStream out) {
+        Histogram total = result.totalResponseTime();
+        double seconds = result.elapsedNanos() / 1e9;
+
+        out.println();
+        out.printf("Completed %d requests in %.1f s, %.1f requests/s, %d errors%n",
+            total.getTotalCount(), seconds, total.getTotalCount() / seconds, result.totalErrors());
+        out.printf("Largest dispatch lag behind schedule: %.2f ms%n", result.maxScheduleLagNanos() / 1e6);
+        out.println();
+        out.println("Response time in ms, measured from the scheduled start (corrected for coordinated omission)");
+        out.printf("%-16s %9s %7s %9s %9s %9s %9s %9s%n", "operation", "count", "errors", "p50", "p90", "p99", "p99.9", "max");
+        for (OpenLoadGenerator.OperationStats operation : result.operations()) {
+            printRow(out, operation.name(), operation.responseTime(), operation.errors());
+        }
+        printRow(out, "total", total, result.totalErrors());
+        out.println();
+        out.println("Service time in ms, measured from when the request was sent (not corrected)");
+        printRow(out, "total", result.totalServiceTime(), result.totalErrors());
+    }
+
+    // Prints the headline numbers of every thread mode side by side
+    private static void compare(Map<String, OpenLoadGenerator.Result> results, PrintStream out) {
+        out.println();
+        out.println("=== Comparison, response time in ms ===");
+        out.printf("%-10s %12s %7s %9s %9s %9s %9s%n", "mode", "requests/s", "errors", "p50", "p99", "p99.9", "max");
+        results.forEach((mode, result) -> {
+            Histogram total = result.totalResponseTime();
+            out.printf("%-10s %12.1f %7d %9.2f %9.2f %9.2f %9.2f%n",
+                mode,
+                total.getTotalCount() / (result.elapsedNanos() / 1e9),
+                result.totalErrors(),
+                total.getValueAtPercentile(50) / 1000.0,
+                total.getValueAtPercentile(99) / 1000.0,
+                total.getValueAtPercentile(99.9) / 1000.0,
+                total.getMaxValue() / 1000.0);
+        });
+    }
+
+    private static void printRow(PrintStream out, String name, Histogram histogram, long errors) {
+        out.printf("%-16s %9d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+            name,
+            histogram.getTotalCount(),
+            errors,
+            histogram.getValueAtPercentile(50) / 1000.0,
+            histogram.getValueAtPercentile(90) / 1000.0,
+            histogram.getValueAtPercentile(99) / 1000.0,
+            histogram.getValueAtPercentile(99.9) / 1000.0,
+            histogram.getMaxValue() / 1000.0);
+    }
+
+    // Writes the percentile distribution of every operation, scaled to milliseconds
+    private static void writeHistograms(OpenLoadGenerator.Result result, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (OpenLoadGenerator.OperationStats operation : result.operations()) {
+            writeHistogram(operation.responseTime(), directory.resolve(operation.name() + ".hgrm"));
+        }
+        writeHistogram(result.totalResponseTime(), directory.resolve("total.hgrm"));
+        writeHistogram(result.totalServiceTime(), directory.resolve("total-service-time.hgrm"));
+        System.out.printf("%nLatency distributions written to %s%n", directory.toAbsolutePath());
+    }
+
+    private static void writeHistogram(Histogram histogram, Path file) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.brendan.springdock.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Settings of a load test run, read from 'loadtest.*' system properties.
+ *
+ * @param rate The number of requests started per second, independent of how fast responses arrive
+ * @param warmup How long requests are sent before measurement starts
+ * @param duration How long requests are measured for
+ * @param mix The request mix, as comma separated 'operation=weight' pairs, or empty for the default mix
+ * @param skills The number of Skills seeded before the run
+ * @param users The number of Users seeded before the run
+ * @param skillsPerUser The number of Skills assigned to each seeded User
+ * @param datasourceUrl The JDBC URL of the database to run against, or empty for a private in-memory H2 database
+ * @param datasourceUsername The database username, used with 'datasourceUrl'
+ * @param datasourcePassword The database password, used with 'datasourceUrl'
+ * @param outputDirectory The directory the latency histograms are written to
+ * @param threadModes The request thread modes to run, one run each: 'default', 'platform' or 'virtual'
+ * @param dbLatency The delay added to every statement execution, to emulate a remote database
+ */
+public record LoadTestSettings(
+    double rate,
+    Duration warmup,
+    Duration duration,
+    String mix,
+    int skills,
+    int users,
+    int skillsPerUser,
+    String datasourceUrl,
+    String datasourceUsername,
+    String datasourcePassword,
+    String outputDirectory,
+    List<String> threadModes,
+    Duration dbLatency
+) {
+
+    // Thread modes, 'default' keeps the setting from application.properties
+    public static final List<String> THREAD_MODES = List.of("default", "platform", "virtual");
+
+    /**
+     * Reads the settings from system properties, using defaults for any that are not set.
+     *
+     * @return The settings of this run
+     * @throws IllegalArgumentException if a setting is out of range
+     */
+    public static LoadTestSettings fromSystemProperties() {
+        LoadTestSettings settings = new LoadTestSettings(
+            Double.parseDouble(property("rate", "500")),
+            Duration.parse(property("warmup", "PT15S")),
+            Duration.parse(property("duration", "PT60S")),
+            property("mix", ""),
+            Integer.parseInt(property("skills", "500")),
+            Integer.parseInt(property("users", "2000")),
+            Integer.parseInt(property("skills-per-user", "10")),
+            property("datasource-url", ""),
+            property("datasource-username", ""),
+            property("datasource-password", ""),
+            property("output", "target/loadtest"),
+            Arrays.stream(property("thread-modes", "default").split(",")).map(String::trim).toList(),
+            Duration.parse(property("db-latency", "PT0S"))
+        );
+        if (settings.rate <= 0) {
+            throw new IllegalArgumentException("loadtest.rate must be positive.");
+        }
+        if (settings.duration.isNegative() || settings.duration.isZero()) {
+            throw new IllegalArgumentException("loadtest.duration must be positive.");
+        }
+        if (settings.skills < 1 || settings.users < 1) {
+            throw new IllegalArgumentException("loadtest.skills and loadtest.users must be at least 1.");
+        }
+        for (String mode : settings.threadModes) {
+            if (!THREAD_MODES.contains(mode)) {
+                throw new IllegalArgumentException("Unknown thread mode '" + mode + "', expected one of " + THREAD_MODES + ".");
+            }
+        }
+        if (settings.dbLatency.isNegative()) {
+            throw new IllegalArgumentException("loadtest.db-latency must not be negative.");
+        }
+        return settings;
+    }
+
+    /**
+     * Returns whether the run uses a private in-memory H2 database.
+     *
+     * @return true if no datasource URL was given
+     */
+    public boolean inMemoryDatabase() {
+        return datasourceUrl.isBlank();
+    }
+
+    // Reads a 'loadtest.' system property, treating blank values as not set
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty("loadtest." + name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+}
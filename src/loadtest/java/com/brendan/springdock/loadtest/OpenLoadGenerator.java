@@ -0,0 +1,197 @@
+package com.brendan.springdock.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Open-model load generator sending requests at a fixed arrival rate.
+ *
+ * Request i is scheduled to start at 'start + i / rate', whether or not earlier requests have
+ * completed, and is sent on its own virtual thread. Response time is measured from the scheduled
+ * start rather than from when the request was actually sent, so a stalled server or a generator
+ * that falls behind shows up as latency instead of silently lowering the request rate
+ * (coordinated omission). The uncorrected service time is recorded alongside for comparison.
+ */
+public final class OpenLoadGenerator {
+
+    // Latencies are recorded in microseconds, up to one hour, with 3 significant digits
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final HttpClient client;
+    private final RequestMix mix;
+    private final double rate;
+
+    public OpenLoadGenerator(HttpClient client, RequestMix mix, double rate) {
+        this.client = client;
+        this.mix = mix;
+        this.rate = rate;
+    }
+
+    /**
+     * Sends requests at the configured rate for the given duration and waits for all of them to complete.
+     *
+     * @param duration How long to send requests for
+     * @param random The random source used to pick operations and fixtures
+     * @return The latencies and counts of this run
+     * @throws InterruptedException if the run is interrupted
+     */
+    public Result run(Duration duration, Random random) throws InterruptedException {
+        List<OperationStats> stats = new ArrayList<>();
+        for (RequestMix.Operation operation : mix.operations()) {
+            stats.add(new OperationStats(operation.name()));
+        }
+
+        long requests = (long) (rate * duration.toNanos() / 1e9);
+        double intervalNanos = 1e9 / rate;
+        long maxScheduleLagNanos = 0;
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < requests; i++) {
+                long intended = start + (long) (i * intervalNanos);
+                long now = System.nanoTime();
+                while (now < intended) {
+                    LockSupport.parkNanos(intended - now);
+                    now = System.nanoTime();
+                }
+                maxScheduleLagNanos = Math.max(maxScheduleLagNanos, now - intended);
+
+                int index = mix.next(random);
+                HttpRequest request = mix.request(index, random);
+                OperationStats operationStats = stats.get(index);
+                executor.execute(() -> send(request, intended, operationStats));
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        return new Result(stats, elapsedNanos, maxScheduleLagNanos);
+    }
+
+    // Sends one request and records its latency against the scheduled start
+    private void send(HttpRequest request, long intendedStart, OperationStats stats) {
+        long sent = System.nanoTime();
+        boolean ok;
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            ok = response.statusCode() < 400;
+        } catch (IOException ex) {
+            ok = false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            ok = false;
+        }
+        long end = System.nanoTime();
+        stats.record(TimeUnit.NANOSECONDS.toMicros(end - intendedStart), TimeUnit.NANOSECONDS.toMicros(end - sent), ok);
+    }
+
+    /**
+     * Latencies and counts recorded for one operation.
+     */
+    public static final class OperationStats {
+
+        private final String name;
+        private final Recorder responseTime = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Recorder serviceTime = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+
+        private Histogram responseHistogram;
+        private Histogram serviceHistogram;
+
+        private OperationStats(String name) {
+            this.name = name;
+        }
+
+        private void record(long responseMicros, long serviceMicros, boolean ok) {
+            responseTime.recordValue(Math.min(responseMicros, HIGHEST_TRACKABLE_MICROS));
+            serviceTime.recordValue(Math.min(serviceMicros, HIGHEST_TRACKABLE_MICROS));
+            if (!ok) {
+                errors.increment();
+            }
+        }
+
+        public String name() { return name; }
+
+        public long errors() { return errors.sum(); }
+
+        /**
+         * Returns the response times measured from the scheduled start, corrected for coordinated omission.
+         *
+         * @return The histogram of response times in microseconds
+         */
+        public synchronized Histogram responseTime() {
+            if (responseHistogram == null) {
+                responseHistogram = responseTime.getIntervalHistogram();
+            }
+            return responseHistogram;
+        }
+
+        /**
+         * Returns the service times measured from when each request was actually sent.
+         *
+         * @return The histogram of service times in microseconds
+         */
+        public synchronized Histogram serviceTime() {
+            if (serviceHistogram == null) {
+                serviceHistogram = serviceTime.getIntervalHistogram();
+            }
+            return serviceHistogram;
+        }
+
+    }
+
+    /**
+     * The outcome of a run.
+     *
+     * @param operations The recorded stats per operation
+     * @param elapsedNanos The time from the first scheduled request until the last response
+     * @param maxScheduleLagNanos The largest delay between a request's scheduled and actual dispatch
+     */
+    public record Result(List<OperationStats> operations, long elapsedNanos, long maxScheduleLagNanos) {
+
+        /**
+         * Combines the response times of every operation.
+         *
+         * @return The histogram of all response times in microseconds
+         */
+        public Histogram totalResponseTime() {
+            Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+            operations.forEach(operation -> total.add(operation.responseTime()));
+            return total;
+        }
+
+        /**
+         * Combines the service times of every operation.
+         *
+         * @return The histogram of all service times in microseconds
+         */
+        public Histogram totalServiceTime() {
+            Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+            operations.forEach(operation -> total.add(operation.serviceTime()));
+            return total;
+        }
+
+        public long totalErrors() {
+            return operations.stream().mapToLong(OperationStats::errors).sum();
+        }
+
+    }
+
+}
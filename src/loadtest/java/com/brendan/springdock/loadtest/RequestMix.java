@@ -0,0 +1,195 @@
+package com.brendan.springdock.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Weighted mix of the UserController and SkillController operations driven by the load test.
+ *
+ * Each operation builds a request against the seeded fixtures, picking IDs at random, and is
+ * chosen with a probability proportional to its weight.
+ */
+public final class RequestMix {
+
+    /**
+     * A named operation of the mix.
+     *
+     * @param name The name the operation is reported under
+     * @param weight The relative frequency of the operation
+     * @param factory Builds a request for the operation from a random source
+     */
+    public record Operation(String name, int weight, BiFunction<Random, Fixtures, HttpRequest> factory) { }
+
+    /**
+     * The IDs seeded before the run, and the address of the application.
+     *
+     * @param baseUri The base URI of the running application
+     * @param skillIds The IDs of the seeded Skills
+     * @param userIds The IDs of the seeded Users
+     */
+    public record Fixtures(URI baseUri, List<Long> skillIds, List<Long> userIds) {
+
+        long randomSkillId(Random random) {
+            return skillIds.get(random.nextInt(skillIds.size()));
+        }
+
+        long randomUserId(Random random) {
+            return userIds.get(random.nextInt(userIds.size()));
+        }
+
+    }
+
+    // Default weights, a read-heavy mix with a share of skill assignment writes
+    private static final Map<String, Integer> DEFAULT_WEIGHTS = new LinkedHashMap<>();
+    static {
+        DEFAULT_WEIGHTS.put("get-skill", 25);
+        DEFAULT_WEIGHTS.put("list-skills", 10);
+        DEFAULT_WEIGHTS.put("search-skills", 10);
+        DEFAULT_WEIGHTS.put("get-user", 20);
+        DEFAULT_WEIGHTS.put("list-users", 10);
+        DEFAULT_WEIGHTS.put("find-users", 15);
+        DEFAULT_WEIGHTS.put("add-skills", 5);
+        DEFAULT_WEIGHTS.put("remove-skills", 5);
+    }
+
+    private final List<Operation> operations;
+    private final int[] cumulativeWeights;
+    private final int totalWeight;
+    private final Fixtures fixtures;
+
+    private RequestMix(List<Operation> operations, Fixtures fixtures) {
+        this.operations = List.copyOf(operations);
+        this.fixtures = fixtures;
+        this.cumulativeWeights = new int[operations.size()];
+        int total = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            total += operations.get(i).weight();
+            cumulativeWeights[i] = total;
+        }
+        this.totalWeight = total;
+    }
+
+    /**
+     * Builds a mix from a specification such as "get-skill=50,get-user=50".
+     *
+     * @param spec The comma separated 'operation=weight' pairs, or blank for the default mix
+     * @param fixtures The seeded fixtures the requests are built against
+     * @return The request mix
+     * @throws IllegalArgumentException if the specification names an unknown operation or has no positive weight
+     */
+    public static RequestMix parse(String spec, Fixtures fixtures) {
+        Map<String, Integer> weights = spec == null || spec.isBlank() ? DEFAULT_WEIGHTS : parseWeights(spec);
+        List<Operation> operations = new ArrayList<>();
+        weights.forEach((name, weight) -> {
+            if (weight > 0) {
+                operations.add(new Operation(name, weight, factory(name)));
+            }
+        });
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("The request mix must contain at least one operation with a positive weight.");
+        }
+        return new RequestMix(operations, fixtures);
+    }
+
+    /**
+     * Returns the operations of the mix.
+     *
+     * @return The operations in the order they were declared
+     */
+    public List<Operation> operations() {
+        return operations;
+    }
+
+    /**
+     * Picks the next operation according to the weights.
+     *
+     * @param random The random source
+     * @return The index of the chosen operation in 'operations()'
+     */
+    public int next(Random random) {
+        int pick = random.nextInt(totalWeight);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        return cumulativeWeights.length - 1;
+    }
+
+    /**
+     * Builds a request for an operation.
+     *
+     * @param index The index of the operation in 'operations()'
+     * @param random The random source
+     * @return The request to send
+     */
+    public HttpRequest request(int index, Random random) {
+        return operations.get(index).factory().apply(random, fixtures);
+    }
+
+    /**
+     * Returns a human readable description of the mix.
+     *
+     * @return The operations with their share of requests
+     */
+    public String describe() {
+        return operations.stream()
+            .map(operation -> String.format("%s %.0f%%", operation.name(), 100.0 * operation.weight() / totalWeight))
+            .collect(Collectors.joining(", "));
+    }
+
+    private static Map<String, Integer> parseWeights(String spec) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid request mix entry '" + entry + "', expected 'operation=weight'.");
+            }
+            String name = parts[0].trim();
+            if (!DEFAULT_WEIGHTS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown operation '" + name + "', expected one of " + DEFAULT_WEIGHTS.keySet() + ".");
+            }
+            weights.put(name, Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static BiFunction<Random, Fixtures, HttpRequest> factory(String name) {
+        return switch (name) {
+            case "get-skill" -> (random, f) -> get(f, "/skill/" + f.randomSkillId(random));
+            case "list-skills" -> (random, f) -> get(f, "/skills?limit=50");
+            case "search-skills" -> (random, f) -> get(f, "/skills/search?q=skill+" + random.nextInt(100) + "&limit=20");
+            case "get-user" -> (random, f) -> get(f, "/user/" + f.randomUserId(random));
+            case "list-users" -> (random, f) -> get(f, "/users?limit=50");
+            case "find-users" -> (random, f) -> get(f, "/users/search?match=any&limit=50&skills="
+                + f.randomSkillId(random) + "," + f.randomSkillId(random));
+            case "add-skills" -> (random, f) -> patch(f, "/user/" + f.randomUserId(random) + "/skills/add?delta=true",
+                "[" + f.randomSkillId(random) + "," + f.randomSkillId(random) + "]");
+            case "remove-skills" -> (random, f) -> patch(f, "/user/" + f.randomUserId(random) + "/skills/remove?delta=true",
+                "[" + f.randomSkillId(random) + "," + f.randomSkillId(random) + "]");
+            default -> throw new IllegalArgumentException("Unknown operation '" + name + "'.");
+        };
+    }
+
+    private static HttpRequest get(Fixtures fixtures, String path) {
+        return HttpRequest.newBuilder(fixtures.baseUri().resolve(path))
+            .header("Accept", "application/json")
+            .GET()
+            .build();
+    }
+
+    private static HttpRequest patch(Fixtures fixtures, String path, String body) {
+        return HttpRequest.newBuilder(fixtures.baseUri().resolve(path))
+            .header("Content-Type", "application/json")
+            .method("PATCH", HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.brendan.springdock.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configures the guard that keeps request concurrency in line with the database connection pool.
+ *
+ * Request handling runs on virtual threads when 'spring.threads.virtual.enabled=true', and on
+ * Tomcat's bounded platform thread pool otherwise. In both modes at most
+ * 'springdock.concurrency.max-in-flight' requests are handled at once, see ConcurrencyLimitFilter.
+ */
+@Configuration
+public class ConcurrencyConfig {
+
+    /**
+     * Registers the concurrency limit, running right after the query count filter.
+     *
+     * @param maxInFlight The maximum number of requests handled at the same time
+     * @param queueTimeout How long a request waits for a slot before it is rejected
+     * @param exceptionResolver The resolver rendering exceptions through GlobalExceptionHandler
+     * @param meterRegistry The registry the limit metrics are published to
+     * @return The filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Value("${springdock.concurrency.max-in-flight:100}") int maxInFlight,
+            @Value("${springdock.concurrency.queue-timeout:1s}") Duration queueTimeout,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+            MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+            new ConcurrencyLimitFilter(maxInFlight, queueTimeout, exceptionResolver, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+}
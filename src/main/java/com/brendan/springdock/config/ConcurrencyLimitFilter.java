@@ -0,0 +1,128 @@
+package com.brendan.springdock.config;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import com.brendan.springdock.exceptions.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Limits the number of requests handled at the same time.
+ *
+ * With virtual threads the server no longer has a bounded thread pool, so nothing stops thousands
+ * of requests from queueing on the database connection pool, each holding memory and eventually
+ * timing out. This filter admits at most 'maxInFlight' requests, lets others wait up to 'queueTimeout'
+ * for a slot, and rejects the rest with HTTP 503 so clients can back off and retry.
+ *
+ * A request that continues asynchronously, such as the streaming export, keeps its slot until the
+ * response is complete.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long queueTimeoutNanos;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final Counter rejected;
+
+    /**
+     * Creates the filter.
+     *
+     * @param maxInFlight The maximum number of requests handled at the same time
+     * @param queueTimeout How long a request waits for a slot before it is rejected
+     * @param exceptionResolver Renders the rejection the same way as errors raised by controllers
+     * @param meterRegistry The registry the in-flight and rejected counts are published to
+     */
+    public ConcurrencyLimitFilter(int maxInFlight, Duration queueTimeout, HandlerExceptionResolver exceptionResolver, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxInFlight, true);
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.exceptionResolver = exceptionResolver;
+        this.rejected = Counter.builder("springdock.http.server.rejected")
+            .description("Requests rejected because the concurrency limit was reached")
+            .register(meterRegistry);
+        Gauge.builder("springdock.http.server.in-flight", permits, semaphore -> maxInFlight - semaphore.availablePermits())
+            .description("Requests currently being handled")
+            .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            response.setHeader("Retry-After", "1");
+            exceptionResolver.resolveException(request, response, null,
+                new ServiceUnavailableException("The server is at capacity, please retry shortly."));
+            return;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingAsyncListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Health checks and metrics scrapes must keep working when the server is at capacity
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    // Releases the slot of an asynchronous request once its response is complete
+    private record ReleasingAsyncListener(Runnable release) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+
+    }
+
+}
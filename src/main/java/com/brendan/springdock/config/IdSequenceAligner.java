@@ -0,0 +1,84 @@
+package com.brendan.springdock.config;
+
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.brendan.springdock.models.Skill;
+import com.brendan.springdock.models.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Moves the ID sequences of Skills and Users past the highest existing ID on startup.
+ *
+ * The IDs used to be generated by IDENTITY columns. On a database created back then, Hibernate's
+ * schema update creates 'skills_seq' and 'users_seq' starting at 1, and the first insert would
+ * collide with an existing row. Before the application accepts requests, each sequence that is
+ * not ahead of its table's highest ID is set to that ID plus one allocation block.
+ *
+ * The step is idempotent: a sequence that is already ahead is left alone, so it never moves backwards
+ * and running instances keep the blocks of IDs they have reserved. Only PostgreSQL is aligned, the
+ * in-memory H2 databases of the benchmarks and load tests start empty.
+ */
+@Component
+public class IdSequenceAligner implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceAligner.class);
+
+    private static final List<SequencedTable> TABLES = List.of(
+        new SequencedTable("skills", Skill.ID_SEQUENCE, Skill.ID_ALLOCATION_SIZE),
+        new SequencedTable("users", User.ID_SEQUENCE, User.ID_ALLOCATION_SIZE)
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates the aligner.
+     *
+     * @param jdbcTemplate The JdbcTemplate to run the statements with
+     * @param entityManagerFactory Unused, depended on so the schema update has created the sequences first
+     */
+    public IdSequenceAligner(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Aligns the sequences, called once every singleton is created and before the web server starts.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            return;
+        }
+        TABLES.forEach(this::align);
+    }
+
+    // Sets the sequence past the highest ID of the table if Hibernate could otherwise hand out an existing ID
+    private void align(SequencedTable table) {
+        long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table.name(), Long.class);
+        Map<String, Object> state = jdbcTemplate.queryForMap("select last_value, is_called from " + table.sequence());
+        long lastValue = ((Number) state.get("last_value")).longValue();
+        boolean called = (Boolean) state.get("is_called");
+
+        // The next block starts after 'last_value' once the sequence was called, and at 'last_value' before that
+        boolean behind = called ? maxId > lastValue : maxId >= lastValue;
+        if (behind) {
+            long value = maxId + table.allocationSize();
+            jdbcTemplate.queryForObject("select setval(cast(? as regclass), ?)", Long.class, table.sequence(), value);
+            log.info("Moved sequence {} from {} to {}, past the highest ID of {}", table.sequence(), lastValue, value, table.name());
+        }
+    }
+
+    // A table with IDs drawn from a pooled sequence
+    private record SequencedTable(String name, String sequence, int allocationSize) {
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.brendan.springdock.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configures the application metrics that Spring Boot does not set up on its own.
+ *
+ * Endpoint latencies, Hibernate statistics and Hikari pool metrics are published by Spring Boot's
+ * auto-configuration, see application.properties. This adds timers for '@Timed' service methods
+ * and a per-request count of the SQL statements Hibernate executes.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Records a timer for every method of a class or method annotated with '@Timed',
+     * tagged with the class and method name.
+     *
+     * @param meterRegistry The registry to publish the timers to
+     * @return The aspect applying '@Timed'
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    /**
+     * Counts the SQL statements Hibernate prepares on each thread.
+     *
+     * @return The statement inspector
+     */
+    @Bean
+    public QueryCountInspector queryCountInspector() {
+        return new QueryCountInspector();
+    }
+
+    /**
+     * Registers the statement inspector with Hibernate.
+     *
+     * @param queryCountInspector The statement inspector
+     * @return The customizer adding the inspector to the Hibernate properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspectorCustomizer(QueryCountInspector queryCountInspector) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryCountInspector);
+    }
+
+    /**
+     * Records the statement count of every request, running before any other filter so the
+     * count covers the whole request.
+     *
+     * @param queryCountInspector The statement inspector
+     * @param meterRegistry The registry to publish the counts to
+     * @return The filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(QueryCountInspector queryCountInspector, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<QueryCountFilter> registration =
+            new FilterRegistrationBean<>(new QueryCountFilter(queryCountInspector, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.brendan.springdock.config;
+
+import java.io.IOException;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records the number of SQL statements each request causes Hibernate to execute.
+ *
+ * Published as the 'springdock.http.server.queries' distribution summary, tagged with the HTTP
+ * method and the URI template of the handling endpoint, the same tags as 'http.server.requests'.
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final String METRIC_NAME = "springdock.http.server.queries";
+
+    private final QueryCountInspector inspector;
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountFilter(QueryCountInspector inspector, MeterRegistry meterRegistry) {
+        this.inspector = inspector;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        inspector.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int count = inspector.stop();
+            Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            DistributionSummary.builder(METRIC_NAME)
+                .description("Number of SQL statements Hibernate executed per request")
+                .baseUnit("queries")
+                .tag("method", request.getMethod())
+                .tag("uri", uri != null ? uri.toString() : "UNKNOWN")
+                .register(meterRegistry)
+                .record(count);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Scrapes of the metrics themselves would only add noise
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.brendan.springdock.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ *
+ * Registered as Hibernate's StatementInspector, it sees every statement Hibernate sends to the
+ * database without changing it. QueryCountFilter starts a count at the beginning of each request
+ * and records it at the end, which makes N+1 query patterns show up in the metrics.
+ *
+ * Statements sent through JdbcTemplate bypass Hibernate and are not counted.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    // Statement count of the request running on this thread, null when no count is in progress
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    /**
+     * Counts the statement and returns it unchanged.
+     *
+     * @param sql The SQL Hibernate is about to prepare
+     * @return The same SQL
+     */
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    /**
+     * Starts counting the statements prepared on the current thread.
+     */
+    public void start() {
+        COUNT.set(new int[1]);
+    }
+
+    /**
+     * Stops counting on the current thread.
+     *
+     * @return The number of statements prepared since 'start()'
+     */
+    public int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : 0;
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.brendan.springdock.config;
+
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * The formats responses are written in, chosen by the request's 'Accept' header.
+ *
+ * JSON stays the default, and the compact binary formats are only written to clients asking for them.
+ * Every format is a different representation of the same resource, so ETags carry the format
+ * and responses with an ETag vary by 'Accept'.
+ *
+ * The ETags are weak, since they are derived from versions rather than the bytes written, and a
+ * response may be gzip compressed by the server. Tomcat only compresses responses without a strong
+ * ETag, and 'If-None-Match' is evaluated with the weak comparison, so 304s work the same.
+ */
+public enum ResponseFormat {
+
+    // Listed in the same order as their message converters, so a wildcard 'Accept' resolves to JSON
+    JSON(MediaType.APPLICATION_JSON, null),
+    SMILE(new MediaType("application", "x-jackson-smile"), "smile"),
+    CBOR(MediaType.APPLICATION_CBOR, "cbor");
+
+    private final MediaType mediaType;
+    private final String etagSuffix;
+
+    ResponseFormat(MediaType mediaType, String etagSuffix) {
+        this.mediaType = mediaType;
+        this.etagSuffix = etagSuffix;
+    }
+
+    /**
+     * Returns the media type responses in this format are written with.
+     * 
+     * @return The media type
+     */
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Resolves the format a request's response is written in, the same way Spring MVC selects a message converter.
+     * 
+     * @param request The current request
+     * @return The most preferred format the client accepts, JSON if it accepts none of them or sends no 'Accept' header
+     */
+    public static ResponseFormat negotiate(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException ex) {
+            return JSON;
+        }
+        // Most specific and highest quality first
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (ResponseFormat format : values()) {
+                if (type.includes(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * Gives an ETag computed for the JSON representation a weak variant for this format.
+     * 
+     * @param etag The quoted ETag of the JSON representation
+     * @return The weak ETag, with the format appended unless it is JSON
+     */
+    public String etag(String etag) {
+        if (etagSuffix == null) {
+            return "W/" + etag;
+        }
+        return "W/" + etag.substring(0, etag.length() - 1) + ";" + etagSuffix + "\"";
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.brendan.springdock.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Registers the binary response formats next to JSON, see ResponseFormat.
+ *
+ * The converters are built from Spring Boot's ObjectMapper builder, so CBOR and Smile responses carry
+ * the same fields as JSON. Spring Boot places them after the JSON converter, which keeps JSON the
+ * format for clients that accept anything.
+ */
+@Configuration
+public class ResponseFormatConfig {
+
+    /**
+     * Writes 'application/cbor' responses.
+     *
+     * @param builder The ObjectMapper builder configured by Spring Boot
+     * @return The CBOR message converter
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Writes 'application/x-jackson-smile' responses.
+     *
+     * @param builder The ObjectMapper builder configured by Spring Boot
+     * @return The Smile message converter
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+}
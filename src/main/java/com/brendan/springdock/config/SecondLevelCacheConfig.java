@@ -0,0 +1,84 @@
+package com.brendan.springdock.config;
+
+import java.time.Duration;
+import java.util.OptionalLong;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.brendan.springdock.models.Skill;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Configures the regions of the Hibernate second-level cache, held in Caffeine through JCache.
+ *
+ * Skill entities and the results of cacheable queries are bounded in
+ * size and expire after a while, so changes made by other instances are picked up eventually. The
+ * update timestamps region, which tells Hibernate whether a cached query result is still valid, is
+ * neither bounded nor expired, since losing an entry would let stale query results be served.
+ *
+ * Entries are stored by reference. Hibernate only caches disassembled state, which it never modifies.
+ *
+ * Hit and miss counts per region are published as 'hibernate.second.level.cache.requests' and
+ * 'hibernate.query.cache.requests', see application.properties.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    /**
+     * Creates the cache manager holding the second-level cache regions.
+     *
+     * @param skillsMaximumSize The maximum number of cached Skills
+     * @param queryResultsMaximumSize The maximum number of cached query results
+     * @param expireAfterWrite How long an entry is kept after it was written
+     * @return The cache manager, closed with the application context
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${springdock.l2-cache.skills.maximum-size:10000}") long skillsMaximumSize,
+            @Value("${springdock.l2-cache.query-results.maximum-size:1000}") long queryResultsMaximumSize,
+            @Value("${springdock.l2-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        cacheManager.createCache(Skill.CACHE_REGION, region(skillsMaximumSize, expireAfterWrite));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, region(queryResultsMaximumSize, expireAfterWrite));
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, storedByReference());
+        return cacheManager;
+    }
+
+    /**
+     * Hands the cache manager to Hibernate's JCache region factory.
+     * Every region must have been created above, a missing one fails startup instead of falling back to an unbounded cache.
+     *
+     * @param hibernateCacheManager The cache manager holding the regions
+     * @return The customizer adding the cache manager to the Hibernate properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maximumSize, Duration expireAfterWrite) {
+        CaffeineConfiguration<Object, Object> configuration = storedByReference();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(expireAfterWrite.toNanos()));
+        return configuration;
+    }
+
+    private static CaffeineConfiguration<Object, Object> storedByReference() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+
+}
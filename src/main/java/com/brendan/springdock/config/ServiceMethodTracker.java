@@ -0,0 +1,50 @@
+package com.brendan.springdock.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Tracks the service method running on the current thread, so SQL statements can be attributed to it.
+ *
+ * Applies to every public method of the @Service classes. Caches, indexes and other helper
+ * components are left out, so their hot paths carry no aspect and their statements are attributed to
+ * the service method that called them. Nested service calls replace the current method and restore
+ * the caller's on return, so a statement is attributed to the innermost service method. Runs outside the transaction interceptor, so statements flushed at commit are
+ * attributed to the method that opened the transaction.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMethodTracker {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Returns the service method running on the current thread.
+     *
+     * @return The method as 'ClassName.methodName', or null outside a service call
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    @Around("within(@org.springframework.stereotype.Service *) && execution(public * *(..))")
+    public Object track(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        String previous = CURRENT.get();
+        CURRENT.set(signature.getDeclaringType().getSimpleName() + "." + signature.getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+}
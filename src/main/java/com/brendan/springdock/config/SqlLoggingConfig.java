@@ -0,0 +1,60 @@
+package com.brendan.springdock.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configures the SQL statement log, which replaces 'spring.jpa.show-sql'.
+ *
+ * Wraps the application DataSource so every statement, whether sent by Hibernate or JdbcTemplate,
+ * is measured, and logs the slow ones and a sample of the rest to the 'springdock.sql' logger.
+ * That logger writes through an asynchronous appender, see logback-spring.xml.
+ *
+ * Disabled with 'springdock.sql-log.enabled=false'.
+ */
+@Configuration
+@ConditionalOnProperty(name = "springdock.sql-log.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlLoggingConfig {
+
+    /**
+     * Wraps every DataSource bean in a SqlLoggingDataSource.
+     *
+     * Declared static so the post-processor is created before the DataSource it wraps.
+     *
+     * @param environment The environment holding the 'springdock.sql-log.*' properties
+     * @return The post-processor wrapping DataSource beans
+     */
+    @Bean
+    public static BeanPostProcessor sqlLoggingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SqlLoggingDataSource)) {
+                    SqlStatementLog statementLog = new SqlStatementLog(
+                        environment.getProperty("springdock.sql-log.slow-threshold", Duration.class, Duration.ofMillis(200)),
+                        environment.getProperty("springdock.sql-log.sample-rate", Double.class, 0.0));
+                    return new SqlLoggingDataSource(dataSource, statementLog);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Tracks the service method running on each thread, so statements can be attributed to it.
+     *
+     * @return The aspect tracking service method calls
+     */
+    @Bean
+    public ServiceMethodTracker serviceMethodTracker() {
+        return new ServiceMethodTracker();
+    }
+
+}
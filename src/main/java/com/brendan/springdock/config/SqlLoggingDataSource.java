@@ -0,0 +1,260 @@
+package com.brendan.springdock.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource wrapper measuring every SQL statement executed through it.
+ *
+ * Connections, statements and result sets are wrapped in lightweight proxies that count bound
+ * parameters and batched executions, time each execution, and count the rows affected or read.
+ * The measurements are passed to a SqlStatementLog, which decides what is logged.
+ *
+ * The execution time of a query covers running the statement, not reading its rows, and the
+ * query is recorded once its ResultSet is closed so the row count is complete.
+ */
+public class SqlLoggingDataSource extends DelegatingDataSource {
+
+    private final SqlStatementLog statementLog;
+
+    public SqlLoggingDataSource(DataSource targetDataSource, SqlStatementLog statementLog) {
+        super(targetDataSource);
+        this.statementLog = statementLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+            SqlLoggingDataSource.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            new ConnectionHandler(connection));
+    }
+
+    // Calls the target, rethrowing the exception it threw instead of the reflection wrapper
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    // Handles the methods every proxy answers itself, returns null for all other methods
+    private static Object invokeObjectMethod(Object proxy, Object target, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "toString" -> target.toString();
+            default -> null;
+        };
+    }
+
+    private static boolean isObjectMethod(Method method) {
+        return method.getDeclaringClass() == Object.class;
+    }
+
+    // Wraps the statements created by a connection
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isObjectMethod(method)) {
+                return invokeObjectMethod(proxy, target, method, args);
+            }
+            Object result = SqlLoggingDataSource.invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                return wrapStatement(statement, sql);
+            }
+            return result;
+        }
+
+        private Statement wrapStatement(Statement statement, String sql) {
+            Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+            return (Statement) Proxy.newProxyInstance(
+                SqlLoggingDataSource.class.getClassLoader(),
+                new Class<?>[] {type},
+                new StatementHandler(statement, sql));
+        }
+
+    }
+
+    // Measures the executions of a statement
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private String sql;
+
+        // Parameters bound and executions batched since the last execution
+        private int binds;
+        private int batchSize;
+
+        // The result set of the last query, recorded when the statement is closed if it was not closed itself
+        private ResultSetHandler openResult;
+
+        private StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isObjectMethod(method)) {
+                return invokeObjectMethod(proxy, target, method, args);
+            }
+            String name = method.getName();
+
+            // Parameter setters are declared by PreparedStatement and CallableStatement, options such as setFetchSize by Statement
+            if (name.startsWith("set") && method.getDeclaringClass() != Statement.class) {
+                binds++;
+                return SqlLoggingDataSource.invoke(target, method, args);
+            }
+            if (name.equals("addBatch")) {
+                batchSize++;
+                if (args != null && args.length == 1 && sql == null) {
+                    sql = (String) args[0];
+                }
+                return SqlLoggingDataSource.invoke(target, method, args);
+            }
+            if (name.equals("close")) {
+                Object result = SqlLoggingDataSource.invoke(target, method, args);
+                recordOpenResult();
+                return result;
+            }
+            if (!name.startsWith("execute")) {
+                return SqlLoggingDataSource.invoke(target, method, args);
+            }
+
+            String executedSql = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            int executedBinds = binds;
+            int executedBatchSize = batchSize;
+            binds = 0;
+            batchSize = 0;
+
+            long start = System.nanoTime();
+            Object result = SqlLoggingDataSource.invoke(target, method, args);
+            long durationNanos = System.nanoTime() - start;
+
+            if (result instanceof ResultSet resultSet) {
+                // Recorded once the rows have been read
+                recordOpenResult();
+                openResult = new ResultSetHandler(resultSet, executedSql, durationNanos, executedBinds);
+                return Proxy.newProxyInstance(
+                    SqlLoggingDataSource.class.getClassLoader(),
+                    new Class<?>[] {ResultSet.class},
+                    openResult);
+            }
+            statementLog.record(executedSql, durationNanos, rowCount(result), executedBinds, executedBatchSize);
+            return result;
+        }
+
+        private void recordOpenResult() {
+            if (openResult != null) {
+                openResult.record();
+                openResult = null;
+            }
+        }
+
+        // Returns the rows affected by an update or batch, or -1 if unknown
+        private static long rowCount(Object result) {
+            if (result instanceof Integer count) {
+                return count;
+            }
+            if (result instanceof Long count) {
+                return count;
+            }
+            if (result instanceof int[] counts) {
+                long total = 0;
+                for (int count : counts) {
+                    total += Math.max(count, 0);
+                }
+                return total;
+            }
+            if (result instanceof long[] counts) {
+                long total = 0;
+                for (long count : counts) {
+                    total += Math.max(count, 0);
+                }
+                return total;
+            }
+            return -1;
+        }
+
+    }
+
+    // Counts the rows read from a query and records the query when the result set is closed
+    private final class ResultSetHandler implements InvocationHandler {
+
+        private final ResultSet target;
+        private final String sql;
+        private final long durationNanos;
+        private final int binds;
+
+        private long rows;
+        private boolean recorded;
+
+        private ResultSetHandler(ResultSet target, String sql, long durationNanos, int binds) {
+            this.target = target;
+            this.sql = sql;
+            this.durationNanos = durationNanos;
+            this.binds = binds;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (isObjectMethod(method)) {
+                return invokeObjectMethod(proxy, target, method, args);
+            }
+            Object result = SqlLoggingDataSource.invoke(target, method, args);
+            switch (method.getName()) {
+                case "next" -> {
+                    if (Boolean.TRUE.equals(result)) {
+                        rows++;
+                    }
+                }
+                case "close" -> record();
+                default -> { }
+            }
+            return result;
+        }
+
+        // Records the query once, whether the result set or its statement is closed first
+        private void record() {
+            if (!recorded) {
+                recorded = true;
+                statementLog.record(sql, durationNanos, rows, binds, 0);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.brendan.springdock.config;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decides which executed SQL statements are logged, and logs them to the 'springdock.sql' logger.
+ *
+ * Statements at or above the slow threshold are always logged at WARN. Faster statements are
+ * logged at INFO with the configured sample probability, so the log shows a representative
+ * picture of normal traffic without recording every statement.
+ *
+ * Entries are written as 'key=value' pairs so the log pipeline can parse them.
+ */
+public class SqlStatementLog {
+
+    private static final Logger log = LoggerFactory.getLogger("springdock.sql");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // Longest SQL text written to the log, longer statements are truncated
+    private static final int MAX_SQL_LENGTH = 2000;
+
+    private final long slowThresholdNanos;
+    private final double sampleRate;
+
+    /**
+     * Creates the statement log.
+     *
+     * @param slowThreshold The duration at or above which a statement is always logged
+     * @param sampleRate The probability, between 0 and 1, with which a faster statement is logged
+     */
+    public SqlStatementLog(Duration slowThreshold, double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("The SQL log sample rate must be between 0 and 1.");
+        }
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Records an executed statement, logging it if it was slow or is sampled.
+     *
+     * @param sql The SQL of the statement
+     * @param durationNanos The execution time of the statement
+     * @param rows The number of rows read or affected, or -1 if unknown
+     * @param binds The number of parameters bound across all executions of the statement
+     * @param batchSize The number of batched executions, or 0 if the statement was not batched
+     */
+    public void record(String sql, long durationNanos, long rows, int binds, int batchSize) {
+        boolean slow = durationNanos >= slowThresholdNanos;
+        if (slow) {
+            if (log.isWarnEnabled()) {
+                log.warn(format("slow", sql, durationNanos, rows, binds, batchSize));
+            }
+        } else if (sampleRate > 0 && log.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            log.info(format("sampled", sql, durationNanos, rows, binds, batchSize));
+        }
+    }
+
+    private static String format(String kind, String sql, long durationNanos, long rows, int binds, int batchSize) {
+        String method = ServiceMethodTracker.current();
+        return "sql=" + kind
+            + " duration_ms=" + String.format("%.3f", durationNanos / 1e6)
+            + " rows=" + rows
+            + " binds=" + binds
+            + " batch=" + batchSize
+            + " method=" + (method != null ? method : "-")
+            + " statement=\"" + compact(sql) + "\"";
+    }
+
+    // Collapses whitespace and truncates the SQL so every entry is a single bounded line
+    private static String compact(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String compacted = WHITESPACE.matcher(sql).replaceAll(" ").trim().replace("\"", "'");
+        return compacted.length() <= MAX_SQL_LENGTH ? compacted : compacted.substring(0, MAX_SQL_LENGTH) + "...";
+    }
+
+}
@@ -2,18 +2,33 @@ package com.brendan.springdock.controllers;
 
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.brendan.springdock.config.ResponseFormat;
+import com.brendan.springdock.dto.BulkCreateResult;
+import com.brendan.springdock.dto.CacheStatsDTO;
+import com.brendan.springdock.dto.CatalogStatsDTO;
+import com.brendan.springdock.dto.CursorPage;
+import com.brendan.springdock.dto.EntityVersion;
+import com.brendan.springdock.dto.FieldSelection;
+import com.brendan.springdock.dto.RenderedCatalog;
 import com.brendan.springdock.dto.SkillDTO;
-import com.brendan.springdock.models.Skill;
+import com.brendan.springdock.dto.SkillPatchDTO;
+import com.brendan.springdock.dto.SkillSearchResult;
+import com.brendan.springdock.dto.SkillView;
 import com.brendan.springdock.services.SkillService;
 
 import jakarta.validation.Valid;
@@ -36,35 +51,152 @@ public class SkillController {
     }
 
     /**
-     * Retrieves all Skills from the system.
+     * Retrieves a page of Skills from the system.
      * 
-     * HTTP GET /skills
-     * Returns a list of all Skill entities stored in the database.
-     * The response contains HTTP 200 (OK) and the list of skills in JSON format.
+     * HTTP GET /skills?after={cursor}&limit={n}
+     * Returns up to 'limit' Skills ordered by ID, starting after the given cursor.
+     * The response contains HTTP 200 (OK), the page of skills in JSON format, and a 'nextCursor'
+     * to pass as 'after' for the next page (null when there are no more skills), with an ETag of the page.
+     * The body is CBOR or Smile for clients preferring them in 'Accept', JSON otherwise, and each format has its own weak ETag.
+     * If the request's 'If-None-Match' header matches the ETag, the response contains HTTP 304 (Not Modified)
+     * without a body, and the Skills are not loaded.
+     * 'fields' selects the Skill fields to return, for example 'fields=id,name', and only those columns are read.
+     * If the cursor, limit or a selected field is invalid, the response contains HTTP 400 (Bad Request).
      * 
-     * @return ResponseEntity containing the list of Skills and HTTP status
+     * @param after The cursor returned with the previous page, omitted for the first page
+     * @param limit The maximum number of skills to return
+     * @param fields The comma separated fields to return, omitted for every field
+     * @param request The current request, used to evaluate 'If-None-Match'
+     * @return ResponseEntity containing the page of Skills and HTTP status
      */
     @GetMapping("/skills")
-    public ResponseEntity<List<Skill>> getAllSkills() {
-        List<Skill> skills = skillService.getAllSkills();
-        return ResponseEntity.ok(skills);
+    public ResponseEntity<CursorPage<?>> getAllSkills(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        FieldSelection selection = FieldSelection.forSkills(fields);
+        String etag = ResponseFormat.negotiate(request).etag(skillService.getSkillsPageETag(after, limit, selection));
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        CursorPage<?> skills = skillService.getSkillsPage(after, limit, selection);
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(skills);
+    }
+
+    /**
+     * Retrieves the complete Skill catalog.
+     * 
+     * HTTP GET /skills/catalog?category={category}
+     * Returns every Skill in ID order, or only the Skills of the given category, as one JSON array with an ETag.
+     * The array is rendered after every change and written as it is, so the database is not read.
+     * Clients accepting gzip get the pre-compressed variant, which has its own ETag.
+     * If the request's 'If-None-Match' header matches the ETag, the response contains HTTP 304 (Not Modified) without a body.
+     * 
+     * @param category The category to return the Skills of, omitted for every Skill
+     * @param request The current request, used to evaluate 'Accept-Encoding' and 'If-None-Match'
+     * @return ResponseEntity containing the rendered Skills and HTTP status
+     */
+    @GetMapping(value = "/skills/catalog", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getCatalog(@RequestParam(required = false) String category, WebRequest request) {
+        RenderedCatalog catalog = skillService.getCatalog(category);
+        boolean compressed = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = catalog.etag(compressed);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT_ENCODING).build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .eTag(etag)
+            .varyBy(HttpHeaders.ACCEPT_ENCODING)
+            .contentType(MediaType.APPLICATION_JSON);
+        if (compressed) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(catalog.body(compressed));
+    }
+
+    /**
+     * Searches the Skill catalog.
+     * 
+     * HTTP GET /skills/search?q={query}&offset={n}&limit={n}
+     * Matches every word of the query as a prefix of the words in each Skill's name, description
+     * and category, and returns the matching Skills ranked by relevance.
+     * The response contains HTTP 200 (OK) and the total number of matches with the requested page in JSON format.
+     * If the query is missing or blank, or the offset or limit is invalid, the response contains HTTP 400 (Bad Request).
+     * 
+     * @param q The search query
+     * @param offset The number of ranked results to skip
+     * @param limit The maximum number of results to return
+     * @return ResponseEntity containing the search result and HTTP status
+     */
+    @GetMapping("/skills/search")
+    public ResponseEntity<SkillSearchResult> searchSkills(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(required = false) Integer limit) {
+        SkillSearchResult result = skillService.searchSkills(q, offset, limit);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Retrieves the statistics of the Skill catalog.
+     * 
+     * HTTP GET /skills/stats
+     * Returns the number of Skills per category and per difficulty, and the number of Users holding each Skill.
+     * The counts are maintained on every change and periodically reconciled against the database.
+     * The response contains HTTP 200 (OK) and the statistics in JSON format.
+     * 
+     * @return ResponseEntity containing the catalog statistics and HTTP status
+     */
+    @GetMapping("/skills/stats")
+    public ResponseEntity<CatalogStatsDTO> getCatalogStats() {
+        return ResponseEntity.ok(skillService.getCatalogStats());
+    }
+
+    /**
+     * Retrieves the statistics of the Skill cache.
+     * 
+     * HTTP GET /skills/cache/stats
+     * Returns the size, hit, miss and eviction counts of the in-process Skill cache.
+     * The response contains HTTP 200 (OK) and the statistics in JSON format.
+     * 
+     * @return ResponseEntity containing the cache statistics and HTTP status
+     */
+    @GetMapping("/skills/cache/stats")
+    public ResponseEntity<CacheStatsDTO> getCacheStats() {
+        return ResponseEntity.ok(skillService.getCacheStats());
     }
 
     /**
      * Retrieves a Skill by its ID.
      * 
      * HTTP GET /skill/{id}
-     * Returns the Skill entity with the specified ID.
-     * If found, the response contains HTTP 200 (OK) and the Skill in JSON format.
+     * Returns the Skill with the specified ID.
+     * If found, the response contains HTTP 200 (OK), the Skill in JSON format and an ETag.
+     * The body is CBOR or Smile for clients preferring them in 'Accept', JSON otherwise, and each format has its own weak ETag.
+     * If the request's 'If-None-Match' header matches the ETag, the response contains HTTP 304 (Not Modified)
+     * without a body, and the Skill is not loaded.
+     * 'fields' selects the Skill fields to return as for GET /skills, each selection has its own ETag.
      * If not found, the response contains HTTP 404 (Not Found).
      * 
      * @param id The ID of the skill to retrieve
+     * @param fields The comma separated fields to return, omitted for every field
+     * @param request The current request, used to evaluate 'If-None-Match'
      * @return ResponseEntity containing the Skill and HTTP status
      */
     @GetMapping("/skill/{id}")
-    public ResponseEntity<Skill> getSkillById(@PathVariable long id) {
-        Skill skill = skillService.getSkillById(id);
-        return ResponseEntity.ok(skill);
+    public ResponseEntity<?> getSkillById(
+            @PathVariable long id,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        FieldSelection selection = FieldSelection.forSkills(fields);
+        // Computed before the Skill is loaded, so a concurrent write can only make the ETag older than the body
+        String etag = ResponseFormat.negotiate(request).etag(skillService.getSkillETag(id, selection));
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        Object skill = skillService.getSkillById(id, selection);
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(skill);
     }
 
     /**
@@ -78,8 +210,8 @@ public class SkillController {
      * @return ResponseEntity containing the created Skill and HTTP status
      */
     @PostMapping("/skill")
-    public ResponseEntity<Skill> createSkill(@RequestBody @Valid SkillDTO skillDTO) {
-        Skill skill = skillService.createSkill(
+    public ResponseEntity<SkillView> createSkill(@RequestBody @Valid SkillDTO skillDTO) {
+        SkillView skill = skillService.createSkill(
             skillDTO.getName(),
             skillDTO.getDescription(),
             skillDTO.getCategory(),
@@ -88,6 +220,25 @@ public class SkillController {
         return ResponseEntity.status(HttpStatus.CREATED).body(skill);
     }
 
+    /**
+     * Creates many Skills in a single request.
+     * 
+     * HTTP POST /skills/bulk
+     * Accepts a JSON array of objects with 'name', 'description', 'category', and 'difficulty' fields.
+     * All skills are validated first and written in JDBC batches within one transaction.
+     * Returns the number of created Skills and their IDs with a HTTP 201 status (Created).
+     * If any item is invalid, nothing is created and the response contains HTTP 400 (Bad Request)
+     * with the validation errors of every invalid item.
+     * 
+     * @param skillDTOs The list of SkillDTO objects parsed from the request body
+     * @return ResponseEntity containing the bulk create result and HTTP status
+     */
+    @PostMapping("/skills/bulk")
+    public ResponseEntity<BulkCreateResult> createSkills(@RequestBody List<SkillDTO> skillDTOs) {
+        BulkCreateResult result = skillService.createSkills(skillDTOs);
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+
     /**
      * Updates an existing Skill.
      * 
@@ -100,8 +251,8 @@ public class SkillController {
      * @return ResponseEntity containing the updated Skill and HTTP status
      */
     @PutMapping("/skill/{id}")
-    public ResponseEntity<Skill> updateSkill(@PathVariable long id, @RequestBody @Valid SkillDTO skillDTO) {
-        Skill updatedSkill = skillService.updateSkill(
+    public ResponseEntity<SkillView> updateSkill(@PathVariable long id, @RequestBody @Valid SkillDTO skillDTO) {
+        SkillView updatedSkill = skillService.updateSkill(
             id,
             skillDTO.getName(),
             skillDTO.getDescription(),
@@ -111,6 +262,36 @@ public class SkillController {
         return ResponseEntity.ok(updatedSkill);
     }
 
+    /**
+     * Partially updates an existing Skill.
+     * 
+     * HTTP PATCH /skill/{id}
+     * Accepts a JSON payload with the 'version' of the Skill the client last read, and any of the 'name',
+     * 'description', 'category' and 'difficulty' fields to change. Fields that are left out keep their current value.
+     * The change is written with an UPDATE statement guarded by the version. When the Skill is not cached
+     * at that version, it is first read with a SELECT, since the change listeners need its previous state.
+     * Returns the ID and new version of the Skill with a HTTP 200 status (OK).
+     * If no field is provided, or a provided field is blank, the response contains HTTP 400 (Bad Request).
+     * If the Skill has changed since that version, the response contains HTTP 409 (Conflict).
+     * If not found, the response contains HTTP 404 (Not Found).
+     * 
+     * @param id The ID of the skill to update
+     * @param skillPatchDTO The SkillPatchDTO object parsed from the request body
+     * @return ResponseEntity containing the ID and new version of the Skill and HTTP status
+     */
+    @PatchMapping("/skill/{id}")
+    public ResponseEntity<EntityVersion> patchSkill(@PathVariable long id, @RequestBody @Valid SkillPatchDTO skillPatchDTO) {
+        EntityVersion version = skillService.patchSkill(
+            id,
+            skillPatchDTO.getVersion(),
+            skillPatchDTO.getName(),
+            skillPatchDTO.getDescription(),
+            skillPatchDTO.getCategory(),
+            skillPatchDTO.getDifficulty()
+        );
+        return ResponseEntity.ok(version);
+    }
+
     /**
      * Deletes a Skill by its ID.
      * 
@@ -126,5 +307,19 @@ public class SkillController {
         skillService.deleteSkill(id);
         return ResponseEntity.noContent().build();
     }
+
+    // Returns whether an 'Accept-Encoding' header lists gzip without refusing it through 'q=0'
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
     
 }
@@ -2,7 +2,9 @@ package com.brendan.springdock.controllers;
 
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,10 +13,22 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.brendan.springdock.config.ResponseFormat;
+import com.brendan.springdock.dto.BulkCreateResult;
+import com.brendan.springdock.dto.CursorPage;
+import com.brendan.springdock.dto.EntityVersion;
+import com.brendan.springdock.dto.FieldSelection;
+import com.brendan.springdock.dto.SkillAssignmentDelta;
+import com.brendan.springdock.dto.SkillMatchMode;
+import com.brendan.springdock.dto.SkillMatchResult;
 import com.brendan.springdock.dto.UserDTO;
-import com.brendan.springdock.models.User;
+import com.brendan.springdock.dto.UserDetailView;
+import com.brendan.springdock.dto.UserPatchDTO;
 import com.brendan.springdock.services.UserService;
 
 import jakarta.validation.Valid;
@@ -33,35 +47,164 @@ public class UserController {
     }
 
     /**
-     * Retrieves all Users from the system.
+     * Retrieves a page of Users from the system.
      * 
-     * HTTP GET /users
-     * Returns a list of all User entities stored in the database.
-     * The response contains HTTP 200 (OK) and the list of users in JSON format.
+     * HTTP GET /users?after={cursor}&limit={n}
+     * Returns up to 'limit' Users with their Skills ordered by ID, starting after the given cursor.
+     * The response contains HTTP 200 (OK), the page of users in JSON format, and a 'nextCursor'
+     * to pass as 'after' for the next page (null when there are no more users).
+     * 'fields' selects the User fields to return, with 'skills.' prefixed entries selecting Skill fields,
+     * and 'include=skills' adds the complete Skills. Only the selected columns are read, and the Skills
+     * are only read when selected. Without 'fields', the complete Users with their Skills are returned.
+     * If the cursor, limit or a selected field is invalid, the response contains HTTP 400 (Bad Request).
      * 
-     * @return ResponseEntity containing the list of Users and HTTP status
+     * @param after The cursor returned with the previous page, omitted for the first page
+     * @param limit The maximum number of users to return
+     * @param fields The comma separated fields to return, omitted for every field
+     * @param include The comma separated associations to include, only 'skills'
+     * @return ResponseEntity containing the page of Users and HTTP status
      */
     @GetMapping("/users")
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
+    public ResponseEntity<CursorPage<?>> getAllUsers(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include) {
+        CursorPage<?> users = userService.getUsersPage(after, limit, FieldSelection.forUsers(fields, include));
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Finds the Users that have all, or any, of the given Skills.
+     * 
+     * HTTP GET /users/search?skills={id},{id}&match={all|any}&after={cursor}&limit={n}
+     * Returns a page of the matching Users ordered by ID, with a 'nextCursor' for the next page.
+     * 'match' defaults to 'all'. The response contains HTTP 200 (OK) and the page of users in JSON format.
+     * 'fields' and 'include' select the returned fields as for GET /users.
+     * If no skills are given, or the match, cursor, limit or a selected field is invalid, the response contains HTTP 400 (Bad Request).
+     * 
+     * @param skills The IDs of the Skills to match
+     * @param match Whether Users must have all of the Skills or any of them, 'all' or 'any' in any case
+     * @param after The cursor returned with the previous page, omitted for the first page
+     * @param limit The maximum number of users to return
+     * @param fields The comma separated fields to return, omitted for every field
+     * @param include The comma separated associations to include, only 'skills'
+     * @return ResponseEntity containing the page of matching Users and HTTP status
+     */
+    @GetMapping("/users/search")
+    public ResponseEntity<CursorPage<?>> findUsersBySkills(
+            @RequestParam List<Long> skills,
+            @RequestParam(defaultValue = "all") String match,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include) {
+        CursorPage<?> users = userService.findUsersBySkills(skills, SkillMatchMode.parse(match), after, limit, FieldSelection.forUsers(fields, include));
+        return ResponseEntity.ok(users);
+    }
+
+    /**
+     * Matches Users against a combination of Skills.
+     * 
+     * HTTP GET /users/match?all={id},{id}&any={id},{id}&none={id}&after={cursor}&limit={n}
+     * Returns the number of Users holding all of the 'all' Skills, at least one of the 'any' Skills,
+     * and none of the 'none' Skills, with a page of their IDs. Answered from the in-memory skill holder index.
+     * The response contains HTTP 200 (OK) and the match result in JSON format.
+     * If neither 'all' nor 'any' is given, the response contains HTTP 400 (Bad Request).
+     * If the index is still being built, the response contains HTTP 503 (Service Unavailable).
+     * 
+     * @param all The IDs of the Skills a User must all have
+     * @param any The IDs of the Skills of which a User must have at least one
+     * @param none The IDs of the Skills a User must not have
+     * @param after The cursor returned with the previous page, omitted for the first page
+     * @param limit The maximum number of user IDs to return
+     * @return ResponseEntity containing the match result and HTTP status
+     */
+    @GetMapping("/users/match")
+    public ResponseEntity<SkillMatchResult> matchUsers(
+            @RequestParam(required = false) List<Long> all,
+            @RequestParam(required = false) List<Long> any,
+            @RequestParam(required = false) List<Long> none,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        SkillMatchResult result = userService.matchUsers(all, any, none, after, limit);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Retrieves the Users that have a given Skill.
+     * 
+     * HTTP GET /skill/{id}/users?after={cursor}&limit={n}
+     * Returns a page of the Users with the Skill ordered by ID, with a 'nextCursor' for the next page.
+     * The response contains HTTP 200 (OK) and the page of users in JSON format.
+     * 'fields' and 'include' select the returned fields as for GET /users.
+     * If the Skill is not found, the response contains HTTP 404 (Not Found).
+     * 
+     * @param id The ID of the Skill
+     * @param after The cursor returned with the previous page, omitted for the first page
+     * @param limit The maximum number of users to return
+     * @param fields The comma separated fields to return, omitted for every field
+     * @param include The comma separated associations to include, only 'skills'
+     * @return ResponseEntity containing the page of Users and HTTP status
+     */
+    @GetMapping("/skill/{id}/users")
+    public ResponseEntity<CursorPage<?>> getUsersWithSkill(
+            @PathVariable long id,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include) {
+        CursorPage<?> users = userService.getUsersWithSkill(id, after, limit, FieldSelection.forUsers(fields, include));
+        return ResponseEntity.ok(users);
+    }
+
+    /**
+     * Exports all Users and their Skill IDs.
+     * 
+     * HTTP GET /users/export
+     * Streams every User as newline-delimited JSON (one User per line), straight from a database cursor.
+     * The response contains HTTP 200 (OK) and starts as soon as the first User has been read.
+     * 
+     * @return ResponseEntity containing the streaming export body and HTTP status
+     */
+    @GetMapping(value = "/users/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        StreamingResponseBody body = userService::exportUsers;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     /**
      * Retrieves a User by its ID.
      * 
      * HTTP GET /user/{id}
-     * Returns the User entity with the specified ID.
-     * If found, the response contains HTTP 200 (OK) and the User in JSON format.
+     * Returns the User with the specified ID, with its Skills.
+     * If found, the response contains HTTP 200 (OK), the User in JSON format and an ETag.
+     * The body is CBOR or Smile for clients preferring them in 'Accept', JSON otherwise, and each format has its own weak ETag.
+     * If the request's 'If-None-Match' header matches the ETag, the response contains HTTP 304 (Not Modified)
+     * without a body, and the User is not loaded.
+     * 'fields' and 'include' select the returned fields as for GET /users, each selection has its own ETag.
      * If not found, the response contains HTTP 404 (Not Found).
      * 
      * @param id The ID of the User to retrieve
+     * @param fields The comma separated fields to return, omitted for every field
+     * @param include The comma separated associations to include, only 'skills'
+     * @param request The current request, used to evaluate 'If-None-Match'
      * @return ResponseEntity containing the User and HTTP status
      */
     @GetMapping("/user/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable long id) {
-        User user = userService.getUserById(id);
-        return ResponseEntity.ok(user);
+    public ResponseEntity<?> getUserById(
+            @PathVariable long id,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String include,
+            WebRequest request) {
+        FieldSelection selection = FieldSelection.forUsers(fields, include);
+        // Computed before the User is loaded, so a concurrent write can only make the ETag older than the body
+        String etag = ResponseFormat.negotiate(request).etag(userService.getUserETag(id, selection));
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(HttpHeaders.ACCEPT).build();
+        }
+        Object user = userService.getUserById(id, selection);
+        return ResponseEntity.ok().eTag(etag).varyBy(HttpHeaders.ACCEPT).body(user);
     }
 
     /**
@@ -75,11 +218,30 @@ public class UserController {
      * @return ResponseEntity containing the created User and HTTP status
      */
     @PostMapping("/user")
-    public ResponseEntity<User> createUser(@RequestBody @Valid UserDTO userDTO) {
-        User newUser = userService.createUser(userDTO.getName(), userDTO.getEmail());
+    public ResponseEntity<UserDetailView> createUser(@RequestBody @Valid UserDTO userDTO) {
+        UserDetailView newUser = userService.createUser(userDTO.getName(), userDTO.getEmail());
         return ResponseEntity.status(HttpStatus.CREATED).body(newUser);
     }
 
+    /**
+     * Creates many Users in a single request.
+     * 
+     * HTTP POST /users/bulk
+     * Accepts a JSON array of objects with 'name' and 'email' fields.
+     * All users are validated first and written in JDBC batches within one transaction.
+     * Returns the number of created Users and their IDs with a HTTP 201 status (Created).
+     * If any item is invalid, nothing is created and the response contains HTTP 400 (Bad Request)
+     * with the validation errors of every invalid item.
+     * 
+     * @param userDTOs The list of UserDTO objects parsed from the request body
+     * @return ResponseEntity containing the bulk create result and HTTP status
+     */
+    @PostMapping("/users/bulk")
+    public ResponseEntity<BulkCreateResult> createUsers(@RequestBody List<UserDTO> userDTOs) {
+        BulkCreateResult result = userService.createUsers(userDTOs);
+        return ResponseEntity.status(HttpStatus.CREATED).body(result);
+    }
+
     /**
      * Updates an existing User.
      * 
@@ -92,8 +254,8 @@ public class UserController {
      * @return ResponseEntity containing the updated User and HTTP status
      */
     @PutMapping("/user/{id}")
-    public ResponseEntity<User> updateUser(@PathVariable long id, @RequestBody @Valid UserDTO userDTO) {
-        User updatedUser = userService.updateUser(
+    public ResponseEntity<UserDetailView> updateUser(@PathVariable long id, @RequestBody @Valid UserDTO userDTO) {
+        UserDetailView updatedUser = userService.updateUser(
             id,
             userDTO.getName(),
             userDTO.getEmail()
@@ -101,6 +263,33 @@ public class UserController {
         return ResponseEntity.ok(updatedUser);
     }
 
+    /**
+     * Partially updates an existing User.
+     * 
+     * HTTP PATCH /user/{id}
+     * Accepts a JSON payload with the 'version' of the User the client last read, and any of the 'name'
+     * and 'email' fields to change. Fields that are left out keep their current value.
+     * The change is written with a single UPDATE statement, without loading the User first.
+     * Returns the ID and new version of the User with a HTTP 200 status (OK).
+     * If no field is provided, or a provided field is blank, the response contains HTTP 400 (Bad Request).
+     * If the User has changed since that version, the response contains HTTP 409 (Conflict).
+     * If not found, the response contains HTTP 404 (Not Found).
+     * 
+     * @param id The ID of the User to update
+     * @param userPatchDTO The UserPatchDTO object parsed from the request body
+     * @return ResponseEntity containing the ID and new version of the User and HTTP status
+     */
+    @PatchMapping("/user/{id}")
+    public ResponseEntity<EntityVersion> patchUser(@PathVariable long id, @RequestBody @Valid UserPatchDTO userPatchDTO) {
+        EntityVersion version = userService.patchUser(
+            id,
+            userPatchDTO.getVersion(),
+            userPatchDTO.getName(),
+            userPatchDTO.getEmail()
+        );
+        return ResponseEntity.ok(version);
+    }
+
     /**
      * Deletes a User by its ID.
      * 
@@ -120,36 +309,54 @@ public class UserController {
     /**
      * Adds Skills to a User's set of Skills.
      * 
-     * HTTP PATCH /user/{id}/skills/add
+     * HTTP PATCH /user/{id}/skills/add?delta={true|false}
      * Accepts a JSON array of Skill IDs to add to the User.
-     * Returns the updated User with a HTTP 200 status (OK).
+     * Returns the updated User with a HTTP 200 status (OK), or only the Skill IDs that were
+     * actually added when 'delta' is true.
+     * If the User is not found, the response contains HTTP 404 (Not Found).
      * 
      * @param id The ID of the User to update
      * @param skillIds The list of Skill IDs to add to the User
-     * @return ResponseEntity containing the updated User and HTTP status
+     * @param delta Whether to return only the change instead of the updated User
+     * @return ResponseEntity containing the updated User or the change, and HTTP status
      */
     @PatchMapping("/user/{id}/skills/add")
-    public ResponseEntity<User> addSkillsToUser(@PathVariable long id, @RequestBody List<Long> skillIds) {
-        userService.addSkillsToUser(id, skillIds);
-        User updatedUser = userService.getUserById(id);
+    public ResponseEntity<?> addSkillsToUser(
+            @PathVariable long id,
+            @RequestBody List<Long> skillIds,
+            @RequestParam(defaultValue = "false") boolean delta) {
+        SkillAssignmentDelta change = userService.addSkillsToUser(id, skillIds);
+        if (delta) {
+            return ResponseEntity.ok(change);
+        }
+        UserDetailView updatedUser = userService.getUserById(id);
         return ResponseEntity.ok(updatedUser);
     }
 
     /**
      * Removes Skills from a User's set of Skills.
      * 
-     * HTTP PATCH /user/{id}/skills/remove
+     * HTTP PATCH /user/{id}/skills/remove?delta={true|false}
      * Accepts a JSON array of Skill IDs to remove from the User.
-     * Returns the updated User with a HTTP 200 status (OK).
+     * Returns the updated User with a HTTP 200 status (OK), or only the Skill IDs that were
+     * actually removed when 'delta' is true.
+     * If the User is not found, the response contains HTTP 404 (Not Found).
      * 
      * @param id The ID of the User to update
      * @param skillIds The list of Skill IDs to remove from the User
-     * @return ResponseEntity containing the updated User and HTTP status
+     * @param delta Whether to return only the change instead of the updated User
+     * @return ResponseEntity containing the updated User or the change, and HTTP status
      */
     @PatchMapping("/user/{id}/skills/remove")
-    public ResponseEntity<User> removeSkillsFromUser(@PathVariable long id, @RequestBody List<Long> skillIds) {
-        userService.removeSkillsFromUser(id, skillIds);
-        User updatedUser = userService.getUserById(id);
+    public ResponseEntity<?> removeSkillsFromUser(
+            @PathVariable long id,
+            @RequestBody List<Long> skillIds,
+            @RequestParam(defaultValue = "false") boolean delta) {
+        SkillAssignmentDelta change = userService.removeSkillsFromUser(id, skillIds);
+        if (delta) {
+            return ResponseEntity.ok(change);
+        }
+        UserDetailView updatedUser = userService.getUserById(id);
         return ResponseEntity.ok(updatedUser);
     }
 
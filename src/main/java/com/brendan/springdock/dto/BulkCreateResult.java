@@ -0,0 +1,13 @@
+package com.brendan.springdock.dto;
+
+import java.util.List;
+
+/**
+ * Defines the response body of a bulk create request.
+ * 
+ * @param created The number of entities created
+ * @param ids The IDs of the created entities, in the same order as the request array
+ */
+public record BulkCreateResult(int created, List<Long> ids) {
+    
+}
@@ -0,0 +1,13 @@
+package com.brendan.springdock.dto;
+
+import java.util.List;
+
+/**
+ * Defines the validation errors for a single item of a bulk request.
+ * 
+ * @param index The zero-based position of the item in the request array
+ * @param messages The validation messages for the item
+ */
+public record BulkItemError(int index, List<String> messages) {
+    
+}
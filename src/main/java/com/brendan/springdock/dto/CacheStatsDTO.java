@@ -0,0 +1,14 @@
+package com.brendan.springdock.dto;
+
+/**
+ * Defines a snapshot of the statistics of an in-process cache.
+ * 
+ * @param size The approximate number of entries currently in the cache
+ * @param hits The number of lookups answered from the cache
+ * @param misses The number of lookups that had to load from the database
+ * @param evictions The number of entries evicted because of the size bound or expiry
+ * @param hitRate The ratio of hits to all lookups, or 1.0 if there were no lookups
+ */
+public record CacheStatsDTO(long size, long hits, long misses, long evictions, double hitRate) {
+    
+}
@@ -0,0 +1,25 @@
+package com.brendan.springdock.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+import com.brendan.springdock.models.Skill.Difficulty;
+
+/**
+ * Defines the statistics of the Skill catalog.
+ * 
+ * @param totalSkills The number of Skills in the catalog
+ * @param skillsByCategory The number of Skills in each category
+ * @param skillsByDifficulty The number of Skills at each difficulty level
+ * @param holdersBySkill The number of Users holding each Skill, keyed by Skill ID
+ * @param reconciledAt When the counters were last corrected against the database, or null if not yet
+ */
+public record CatalogStatsDTO(
+    long totalSkills,
+    Map<String, Long> skillsByCategory,
+    Map<Difficulty, Long> skillsByDifficulty,
+    Map<Long, Long> holdersBySkill,
+    Instant reconciledAt
+) {
+    
+}
@@ -0,0 +1,104 @@
+package com.brendan.springdock.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import com.brendan.springdock.exceptions.BadRequestException;
+
+/**
+ * Defines a single page of results returned by a keyset (cursor) paginated endpoint.
+ *
+ * Pages are ordered by ID, and the next page is requested by passing 'nextCursor' back
+ * as the 'after' query parameter. The cursor is opaque to clients, but internally it encodes
+ * the ID of the last item on the page, so the next page is read with an index-ordered
+ * 'id > ?' query instead of an OFFSET scan. A null 'nextCursor' means there are no more pages.
+ *
+ * @param <T> The type of the items on the page
+ * @param items The items on this page
+ * @param nextCursor The cursor for the next page, or null if this is the last page
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    // Page size used when the client does not provide a limit
+    public static final int DEFAULT_LIMIT = 50;
+
+    // Largest page size a client may request
+    public static final int MAX_LIMIT = 500;
+
+    private static final String CURSOR_PREFIX = "id:";
+
+    /**
+     * Builds a page from rows fetched with a limit of one more than the page size.
+     * The extra row is only used to detect whether another page exists and is not returned.
+     *
+     * @param rows The rows fetched from the database, ordered by ID
+     * @param limit The requested page size
+     * @param idExtractor Function returning the ID of a row
+     * @return The page of items with the cursor for the next page
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, ToLongFunction<T> idExtractor) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        long lastId = idExtractor.applyAsLong(items.get(limit - 1));
+        return new CursorPage<>(List.copyOf(items), encodeCursor(lastId));
+    }
+
+    /**
+     * Encodes the ID of the last item on a page as an opaque cursor.
+     *
+     * @param id The ID of the last item on the page
+     * @return The opaque cursor string
+     */
+    public static String encodeCursor(long id) {
+        byte[] raw = (CURSOR_PREFIX + id).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * Decodes a cursor previously returned as 'nextCursor'.
+     *
+     * @param cursor The opaque cursor string, may be null or blank for the first page
+     * @return The ID to continue after, or 0 for the first page
+     * @throws BadRequestException if the cursor is malformed
+     */
+    public static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new BadRequestException("Invalid cursor: " + cursor);
+            }
+            long id = Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+            if (id < 0) {
+                throw new BadRequestException("Invalid cursor: " + cursor);
+            }
+            return id;
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Resolves the page size requested by the client.
+     *
+     * @param limit The requested page size, may be null
+     * @return The default page size if none was requested, otherwise the requested size capped at MAX_LIMIT
+     * @throws BadRequestException if the requested page size is less than 1
+     */
+    public static int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be at least 1.");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+}
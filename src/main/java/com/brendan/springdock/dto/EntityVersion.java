@@ -0,0 +1,14 @@
+package com.brendan.springdock.dto;
+
+/**
+ * Defines the ID and version of an entity, read without loading the entity itself.
+ * 
+ * Used to compute ETags, so a conditional request for an unchanged resource can be
+ * answered without loading or serializing it.
+ * 
+ * @param id The ID of the entity
+ * @param version The version of the entity, incremented on every change
+ */
+public record EntityVersion(long id, long version) {
+    
+}
@@ -0,0 +1,203 @@
+package com.brendan.springdock.dto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.brendan.springdock.exceptions.BadRequestException;
+
+/**
+ * Defines the fields a client selected with the 'fields' and 'include' query parameters.
+ *
+ * Skills are selected with 'fields=id,name', and Users with 'fields=id,name' plus either
+ * 'include=skills' for their complete Skills or 'skills.name' style entries for selected Skill fields.
+ * The 'id' is always selected, since pages are continued after it. Without a 'fields' parameter the
+ * complete representation is returned, which for Users includes their Skills.
+ *
+ * The selection decides both the columns that are read and the JSON that is written: only the
+ * selected columns are queried, and a User's Skills are only read when they are included.
+ *
+ * @param fields The selected fields of the resource, in their canonical order
+ * @param skillFields The selected fields of a User's Skills in their canonical order, empty if Skills are not included
+ */
+public record FieldSelection(Set<String> fields, Set<String> skillFields) {
+
+    // Fields of a Skill, in the order they are written
+    public static final Set<String> SKILL_FIELDS = ordered(List.of("id", "name", "description", "category", "difficulty", "version"));
+
+    // Fields of a User, in the order they are written, the Skills are selected separately
+    public static final Set<String> USER_FIELDS = ordered(List.of("id", "name", "email", "version"));
+
+    // The complete representations, returned when no fields are selected
+    public static final FieldSelection ALL_SKILL_FIELDS = new FieldSelection(SKILL_FIELDS, Set.of());
+    public static final FieldSelection ALL_USER_FIELDS = new FieldSelection(USER_FIELDS, SKILL_FIELDS);
+
+    private static final String SKILLS = "skills";
+    private static final String SKILLS_PREFIX = SKILLS + ".";
+
+    /**
+     * Parses the fields selected for Skills.
+     *
+     * @param fields Comma separated Skill fields, or null or blank for every field
+     * @return The selection
+     * @throws BadRequestException if an unknown field is selected
+     */
+    public static FieldSelection forSkills(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL_SKILL_FIELDS;
+        }
+        Set<String> selected = new HashSet<>(Set.of("id"));
+        for (String field : split(fields)) {
+            if (!SKILL_FIELDS.contains(field)) {
+                throw unknownField(field, SKILL_FIELDS);
+            }
+            selected.add(field);
+        }
+        return new FieldSelection(select(SKILL_FIELDS, selected), Set.of());
+    }
+
+    /**
+     * Parses the fields selected for Users.
+     *
+     * @param fields Comma separated User fields and 'skills.' prefixed Skill fields, or null or blank for every field
+     * @param include Comma separated associations to include, only 'skills' is supported
+     * @return The selection
+     * @throws BadRequestException if an unknown field or association is selected
+     */
+    public static FieldSelection forUsers(String fields, String include) {
+        boolean includeSkills = false;
+        if (include != null && !include.isBlank()) {
+            for (String association : split(include)) {
+                if (!association.equals(SKILLS)) {
+                    throw new BadRequestException("Unknown include '" + association + "', expected 'skills'.");
+                }
+                includeSkills = true;
+            }
+        }
+        if (fields == null || fields.isBlank()) {
+            return ALL_USER_FIELDS;
+        }
+
+        Set<String> selected = new HashSet<>(Set.of("id"));
+        Set<String> selectedSkillFields = new HashSet<>();
+        for (String field : split(fields)) {
+            if (field.equals(SKILLS)) {
+                includeSkills = true;
+            } else if (field.startsWith(SKILLS_PREFIX)) {
+                String skillField = field.substring(SKILLS_PREFIX.length());
+                if (!SKILL_FIELDS.contains(skillField)) {
+                    throw unknownField(field, SKILL_FIELDS);
+                }
+                selectedSkillFields.add(skillField);
+            } else if (USER_FIELDS.contains(field)) {
+                selected.add(field);
+            } else {
+                throw unknownField(field, USER_FIELDS);
+            }
+        }
+        if (!selectedSkillFields.isEmpty()) {
+            selectedSkillFields.add("id");
+        } else if (includeSkills) {
+            selectedSkillFields.addAll(SKILL_FIELDS);
+        }
+        return new FieldSelection(select(USER_FIELDS, selected), select(SKILL_FIELDS, selectedSkillFields));
+    }
+
+    /**
+     * Returns whether every field is selected, in which case the complete read model is returned.
+     *
+     * @return true if this is the complete Skill or User representation
+     */
+    public boolean isComplete() {
+        return equals(ALL_SKILL_FIELDS) || equals(ALL_USER_FIELDS);
+    }
+
+    /**
+     * Returns whether a User's Skills are selected.
+     *
+     * @return true if the Skills are included
+     */
+    public boolean includesSkills() {
+        return !skillFields.isEmpty();
+    }
+
+    /**
+     * Returns a key identifying this selection, used to give each representation its own ETag.
+     *
+     * @return The selected fields joined with '+', or an empty string for the complete representation
+     */
+    public String key() {
+        if (isComplete()) {
+            return "";
+        }
+        List<String> names = new ArrayList<>(fields);
+        skillFields.forEach(field -> names.add(SKILLS_PREFIX + field));
+        return String.join("+", names);
+    }
+
+    /**
+     * Returns the selected fields of a Skill.
+     *
+     * @param skill The Skill
+     * @return The Skill itself if every field is selected, otherwise a map of the selected fields
+     */
+    public Object select(SkillView skill) {
+        return isComplete() ? skill : selectFields(skill, fields);
+    }
+
+    /**
+     * Returns the selected fields of each of a User's Skills.
+     *
+     * @param skills The Skills of a User
+     * @return The Skills themselves if every Skill field is selected, otherwise a map of the selected fields of each
+     */
+    public List<?> selectSkills(List<SkillView> skills) {
+        if (skillFields.equals(SKILL_FIELDS)) {
+            return skills;
+        }
+        return skills.stream().map(skill -> selectFields(skill, skillFields)).toList();
+    }
+
+    private static Map<String, Object> selectFields(SkillView skill, Set<String> fields) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (String field : fields) {
+            values.put(field, switch (field) {
+                case "id" -> skill.id();
+                case "name" -> skill.name();
+                case "description" -> skill.description();
+                case "category" -> skill.category();
+                case "difficulty" -> skill.difficulty();
+                case "version" -> skill.version();
+                default -> throw new IllegalArgumentException("Unknown Skill field: " + field);
+            });
+        }
+        return values;
+    }
+
+    private static List<String> split(String value) {
+        return Arrays.stream(value.split(","))
+            .map(String::trim)
+            .filter(part -> !part.isEmpty())
+            .toList();
+    }
+
+    // Returns the selected fields in the order of the available fields
+    private static Set<String> select(Set<String> available, Set<String> selected) {
+        return ordered(available.stream().filter(selected::contains).toList());
+    }
+
+    private static Set<String> ordered(List<String> fields) {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(fields));
+    }
+
+    private static BadRequestException unknownField(String field, Set<String> available) {
+        return new BadRequestException("Unknown field '" + field + "', expected one of " + available + ".");
+    }
+
+}
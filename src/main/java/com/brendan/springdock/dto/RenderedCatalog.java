@@ -0,0 +1,35 @@
+package com.brendan.springdock.dto;
+
+/**
+ * A slice of the Skill catalog, already serialized to JSON.
+ *
+ * The bytes are written to responses as they are, so serving the catalog neither reads the
+ * database nor creates an object per Skill. Both arrays are shared between requests and must not be modified.
+ *
+ * @param json The JSON array of the Skills in ID order
+ * @param gzip The same JSON array, gzip compressed
+ * @param etag The quoted ETag of the JSON, derived from its content
+ */
+public record RenderedCatalog(byte[] json, byte[] gzip, String etag) {
+
+    /**
+     * Returns the body to write for a response.
+     *
+     * @param compressed Whether the client accepts gzip
+     * @return The compressed bytes if 'compressed', otherwise the JSON bytes
+     */
+    public byte[] body(boolean compressed) {
+        return compressed ? gzip : json;
+    }
+
+    /**
+     * Returns the ETag of a response, the compressed variant is a different representation with its own ETag.
+     *
+     * @param compressed Whether the body is the compressed variant
+     * @return The quoted ETag
+     */
+    public String etag(boolean compressed) {
+        return compressed ? etag.substring(0, etag.length() - 1) + ";gzip\"" : etag;
+    }
+
+}
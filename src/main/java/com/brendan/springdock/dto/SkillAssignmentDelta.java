@@ -0,0 +1,17 @@
+package com.brendan.springdock.dto;
+
+import java.util.List;
+
+/**
+ * Defines the change made to a User's set of Skills by an assignment request.
+ * 
+ * Only the Skills that actually changed are listed, so Skills the User already had (when adding)
+ * or did not have (when removing), and unknown Skill IDs, are left out.
+ * 
+ * @param userId The ID of the User whose Skills were changed
+ * @param added The IDs of the Skills that were added to the User
+ * @param removed The IDs of the Skills that were removed from the User
+ */
+public record SkillAssignmentDelta(long userId, List<Long> added, List<Long> removed) {
+    
+}
@@ -0,0 +1,32 @@
+package com.brendan.springdock.dto;
+
+import com.brendan.springdock.exceptions.BadRequestException;
+
+/**
+ * Defines how the Skills of a reverse lookup are matched against a User's Skills.
+ */
+public enum SkillMatchMode {
+
+    // The User must have every requested Skill
+    ALL,
+
+    // The User must have at least one of the requested Skills
+    ANY;
+
+    /**
+     * Parses a match mode from a request parameter, ignoring case.
+     * 
+     * @param value The parameter value, 'all' or 'any'
+     * @return The match mode
+     * @throws BadRequestException if the value is not a match mode
+     */
+    public static SkillMatchMode parse(String value) {
+        for (SkillMatchMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value.trim())) {
+                return mode;
+            }
+        }
+        throw new BadRequestException("Invalid match '" + value + "', expected 'all' or 'any'.");
+    }
+    
+}
@@ -0,0 +1,12 @@
+package com.brendan.springdock.dto;
+
+/**
+ * Defines the result of a skill-set matching query against the skill holder index.
+ * 
+ * @param total The total number of Users matching the query
+ * @param userIds The IDs of the matching Users on this page, in ascending order
+ * @param nextCursor The cursor for the next page, or null if this is the last page
+ */
+public record SkillMatchResult(long total, long[] userIds, String nextCursor) {
+    
+}
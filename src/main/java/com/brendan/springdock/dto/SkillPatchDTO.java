@@ -0,0 +1,43 @@
+package com.brendan.springdock.dto;
+
+import com.brendan.springdock.models.Skill.Difficulty;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Defines a Data Transfer Object (DTO) for partial updates of Skill entities.
+ * 
+ * Only the fields that are present are changed, fields left out or null keep their current value.
+ * The 'version' is the version of the Skill the client last read, and the update is rejected
+ * if the Skill has changed since.
+ */
+public class SkillPatchDTO {
+
+    @NotNull(message = "Skill version cannot be null.")
+    private Long version;
+
+    private String name;
+
+    private String description;
+
+    private String category;
+
+    private Difficulty difficulty;
+
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public Difficulty getDifficulty() { return difficulty; }
+    public void setDifficulty(Difficulty difficulty) { this.difficulty = difficulty; }
+    
+}
@@ -0,0 +1,11 @@
+package com.brendan.springdock.dto;
+
+/**
+ * Defines a single ranked result of a Skill search.
+ * 
+ * @param skill The matching Skill
+ * @param score The relevance score of the match, higher is better
+ */
+public record SkillSearchHit(SkillView skill, int score) {
+    
+}
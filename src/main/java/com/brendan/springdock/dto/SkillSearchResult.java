@@ -0,0 +1,13 @@
+package com.brendan.springdock.dto;
+
+import java.util.List;
+
+/**
+ * Defines the response body of a Skill search.
+ * 
+ * @param total The total number of Skills matching the query
+ * @param hits The requested page of matching Skills, ranked by relevance
+ */
+public record SkillSearchResult(long total, List<SkillSearchHit> hits) {
+    
+}
@@ -0,0 +1,31 @@
+package com.brendan.springdock.dto;
+
+import com.brendan.springdock.models.Skill;
+import com.brendan.springdock.models.Skill.Difficulty;
+
+/**
+ * Defines an immutable read model of a Skill.
+ * 
+ * Unlike the Skill entity, it is detached from the persistence context and safe to share
+ * between threads, so it is used for cached and indexed copies of Skills and for API responses.
+ * 
+ * @param id The ID of the Skill
+ * @param name The name of the Skill
+ * @param description The description of the Skill
+ * @param category The category of the Skill
+ * @param difficulty The difficulty level of the Skill
+ * @param version The version of the Skill, incremented on every change
+ */
+public record SkillView(long id, String name, String description, String category, Difficulty difficulty, long version) {
+
+    /**
+     * Creates a read model from a Skill entity.
+     * 
+     * @param skill The Skill entity
+     * @return The read model with the current state of the Skill
+     */
+    public static SkillView from(Skill skill) {
+        return new SkillView(skill.getId(), skill.getName(), skill.getDescription(), skill.getCategory(), skill.getDifficulty(), skill.getVersion());
+    }
+    
+}
@@ -0,0 +1,46 @@
+package com.brendan.springdock.dto;
+
+import java.util.Comparator;
+import java.util.List;
+
+import com.brendan.springdock.models.User;
+
+/**
+ * Defines an immutable read model of a User together with its Skills.
+ * 
+ * @param id The ID of the User
+ * @param name The name of the User
+ * @param email The email address of the User
+ * @param version The version of the User, incremented on every change
+ * @param skills The Skills of the User, ordered by ID
+ */
+public record UserDetailView(long id, String name, String email, long version, List<SkillView> skills) {
+
+    /**
+     * Creates a read model from a User and its Skills.
+     * 
+     * @param user The User
+     * @param skills The Skills of the User, ordered by ID
+     * @return The read model of the User with its Skills
+     */
+    public static UserDetailView of(UserView user, List<SkillView> skills) {
+        return new UserDetailView(user.id(), user.name(), user.email(), user.version(), skills);
+    }
+
+    /**
+     * Creates a read model from a User entity, whose Skills must already be initialized.
+     * 
+     * @param user The User entity
+     * @return The read model with the current state of the User and its Skills
+     */
+    public static UserDetailView from(User user) {
+        List<SkillView> skills = user.getSkills() == null
+            ? List.of()
+            : user.getSkills().stream()
+                .map(SkillView::from)
+                .sorted(Comparator.comparingLong(SkillView::id))
+                .toList();
+        return new UserDetailView(user.getId(), user.getName(), user.getEmail(), user.getVersion(), skills);
+    }
+
+}
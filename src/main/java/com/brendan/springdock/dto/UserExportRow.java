@@ -0,0 +1,16 @@
+package com.brendan.springdock.dto;
+
+/**
+ * Defines a single row of the User export, read straight from the database cursor.
+ * 
+ * Each row pairs a User with one of its Skill IDs, so a User with several Skills spans
+ * several consecutive rows. Users without Skills appear once with a null 'skillId'.
+ * 
+ * @param userId The ID of the User
+ * @param name The name of the User
+ * @param email The email of the User
+ * @param skillId The ID of one of the User's Skills, or null if the User has none
+ */
+public record UserExportRow(long userId, String name, String email, Long skillId) {
+    
+}
@@ -0,0 +1,35 @@
+package com.brendan.springdock.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Defines a Data Transfer Object (DTO) for partial updates of User entities.
+ * 
+ * Only the fields that are present are changed, fields left out or null keep their current value.
+ * The 'version' is the version of the User the client last read, and the update is rejected
+ * if the User has changed since.
+ */
+public class UserPatchDTO {
+
+    // Version of the User the client last read
+    @NotNull(message = "User version cannot be null.")
+    private Long version;
+
+    // New name of the user, or null to keep the current name
+    private String name;
+
+    // New email of the user, or null to keep the current email, validated to be in proper email format
+    @Email(message = "Invalid email format.")
+    private String email;
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+    
+}
@@ -0,0 +1,15 @@
+package com.brendan.springdock.dto;
+
+/**
+ * Defines the version of a User together with the versions of its Skills.
+ * 
+ * A User is returned with its Skills, so its representation changes when the User changes,
+ * when Skills are assigned or removed (both of which increment the User's version), and when
+ * one of its Skills is updated, which only increments the Skill's version.
+ * 
+ * @param version The version of the User
+ * @param skillsVersion The sum of the versions of the User's Skills, which only grows while the Skills stay assigned
+ */
+public record UserVersion(long version, long skillsVersion) {
+    
+}
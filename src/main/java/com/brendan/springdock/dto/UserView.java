@@ -0,0 +1,11 @@
+package com.brendan.springdock.dto;
+
+/**
+ * Defines an immutable read model of a User, without its Skills.
+ * 
+ * @param id The ID of the User
+ * @param name The name of the User
+ * @param email The email address of the User
+ * @param version The version of the User, incremented on every change
+ */
+public record UserView(long id, String name, String email, long version) { }
@@ -0,0 +1,33 @@
+package com.brendan.springdock.events;
+
+import com.brendan.springdock.dto.SkillView;
+
+/**
+ * Published when a Skill is created, updated or deleted.
+ * 
+ * Listeners receive it after the transaction that made the change has committed.
+ * A created Skill has no 'before' state and a deleted Skill has no 'after' state.
+ * 
+ * @param skillId The ID of the Skill
+ * @param before The state of the Skill before the change, or null if it was created
+ * @param after The state of the Skill after the change, or null if it was deleted
+ */
+public record SkillChangedEvent(long skillId, SkillView before, SkillView after) {
+
+    public static SkillChangedEvent created(SkillView skill) {
+        return new SkillChangedEvent(skill.id(), null, skill);
+    }
+
+    public static SkillChangedEvent updated(SkillView before, SkillView after) {
+        return new SkillChangedEvent(after.id(), before, after);
+    }
+
+    public static SkillChangedEvent deleted(SkillView skill) {
+        return new SkillChangedEvent(skill.id(), skill, null);
+    }
+
+    public boolean isDeletion() {
+        return after == null;
+    }
+    
+}
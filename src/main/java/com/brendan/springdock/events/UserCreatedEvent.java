@@ -0,0 +1,14 @@
+package com.brendan.springdock.events;
+
+import java.util.List;
+
+/**
+ * Published when one or more Users are created.
+ * 
+ * Listeners receive it after the transaction that created the Users has committed.
+ * 
+ * @param userIds The IDs of the created Users
+ */
+public record UserCreatedEvent(List<Long> userIds) {
+    
+}
@@ -0,0 +1,15 @@
+package com.brendan.springdock.events;
+
+import java.util.Set;
+
+/**
+ * Published when a User is deleted.
+ * 
+ * Listeners receive it after the transaction that deleted the User has committed.
+ * 
+ * @param userId The ID of the deleted User
+ * @param skillIds The IDs of the Skills the User had when it was deleted
+ */
+public record UserDeletedEvent(long userId, Set<Long> skillIds) {
+    
+}
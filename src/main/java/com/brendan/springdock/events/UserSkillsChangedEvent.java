@@ -0,0 +1,16 @@
+package com.brendan.springdock.events;
+
+import java.util.List;
+
+/**
+ * Published when Skills are added to or removed from a User.
+ * 
+ * Listeners receive it after the transaction that made the change has committed.
+ * 
+ * @param userId The ID of the User whose Skills changed
+ * @param added The IDs of the Skills that were added
+ * @param removed The IDs of the Skills that were removed
+ */
+public record UserSkillsChangedEvent(long userId, List<Long> added, List<Long> removed) {
+    
+}
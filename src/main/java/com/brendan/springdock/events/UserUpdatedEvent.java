@@ -0,0 +1,12 @@
+package com.brendan.springdock.events;
+
+/**
+ * Published when the name or email of a User is changed.
+ * 
+ * Listeners receive it after the transaction that made the change has committed.
+ * 
+ * @param userId The ID of the updated User
+ */
+public record UserUpdatedEvent(long userId) {
+    
+}
@@ -0,0 +1,28 @@
+package com.brendan.springdock.exceptions;
+
+import java.util.List;
+
+import com.brendan.springdock.dto.BulkItemError;
+
+/**
+ * Defines a custom exception to be thrown when one or more items of a bulk request are invalid.
+ * 
+ * Carries the validation errors of every invalid item, so the client can fix them all at once.
+ */
+public class BulkValidationException extends BadRequestException {
+
+    private final List<BulkItemError> errors;
+
+    /**
+     * Constructs a new BulkValidationException with the specified per-item errors.
+     * 
+     * @param errors The validation errors, one entry per invalid item
+     */
+    public BulkValidationException(List<BulkItemError> errors) {
+        super(errors.size() + " item(s) in the request are invalid.");
+        this.errors = List.copyOf(errors);
+    }
+
+    public List<BulkItemError> getErrors() { return errors; }
+    
+}
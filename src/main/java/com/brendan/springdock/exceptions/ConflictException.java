@@ -0,0 +1,20 @@
+package com.brendan.springdock.exceptions;
+
+/**
+ * Defines a custom exception to be thrown when a write conflicts with the current state of a resource.
+ * 
+ * Specifically used when an update names a version of an entity that is no longer its current version,
+ * because another request changed it in the meantime.
+ */
+public class ConflictException extends RuntimeException {
+
+    /**
+     * Constructs a new ConflictException with the specified detail message.
+     * 
+     * @param message The detail message explaining the reason for the exception
+     */
+    public ConflictException(String message) {
+        super(message);
+    }
+    
+}
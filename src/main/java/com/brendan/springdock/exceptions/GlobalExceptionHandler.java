@@ -2,10 +2,13 @@ package com.brendan.springdock.exceptions;
 
 import java.util.Map;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 
 
@@ -21,18 +24,34 @@ public class GlobalExceptionHandler {
      * Handles a ResourceNotFoundException thrown when a requested resource cannot be found.
      * 
      * Converts the exception into an HTTP 404 Not Found response with a JSON body containing
-     * the error details.
+     * the error details. The body is built when the exception is created, and shared by every
+     * response for a cached missing ID.
      * 
      * @param ex The ResourceNotFoundException instance that was thrown
      * @return ResponseEntity with HTTP 404 status and error details in the body
      */
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<Map<String, String>> handleNotFound(ResourceNotFoundException ex) {
-        Map<String, String> body = Map.of(
-            "error", "Not Found",
-            "message", ex.getMessage()
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getBody());
+    }
+
+    /**
+     * Handles a BulkValidationException thrown when one or more items of a bulk request are invalid.
+     * 
+     * Converts the exception into a HTTP 400 Bad Request response with a JSON body containing the error
+     * type, a summary message, and the validation errors of each invalid item.
+     * 
+     * @param ex The BulkValidationException instance that was thrown
+     * @return ResponseEntity with HTTP 400 status and per-item error details in the body
+     */
+    @ExceptionHandler(BulkValidationException.class)
+    public ResponseEntity<Map<String, Object>> handleBulkValidation(BulkValidationException ex) {
+        Map<String, Object> body = Map.of(
+            "error", "Bad Request",
+            "message", ex.getMessage(),
+            "errors", ex.getErrors()
         );
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
     /**
@@ -53,6 +72,96 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
+    /**
+     * Handles a MethodArgumentTypeMismatchException thrown when a path variable or request parameter
+     * cannot be converted to the type of the controller method parameter, for example a non-numeric ID.
+     * 
+     * Converts the exception into a HTTP 400 Bad Request response, the same as a BadRequestException.
+     * 
+     * @param ex The MethodArgumentTypeMismatchException instance that was thrown
+     * @return ResponseEntity with HTTP 400 status and error details in the body
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<Map<String, String>> handleArgumentTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        Map<String, String> body = Map.of(
+            "error", "Bad Request",
+            "message", "Invalid value '" + ex.getValue() + "' for parameter '" + ex.getName() + "'."
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
+    /**
+     * Handles a MissingServletRequestParameterException thrown when a required request parameter is absent,
+     * for example a search without 'q' or a User lookup by Skills without 'skills'.
+     * 
+     * Converts the exception into a HTTP 400 Bad Request response, the same as a BadRequestException.
+     * 
+     * @param ex The MissingServletRequestParameterException instance that was thrown
+     * @return ResponseEntity with HTTP 400 status and error details in the body
+     */
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<Map<String, String>> handleMissingParameter(MissingServletRequestParameterException ex) {
+        Map<String, String> body = Map.of(
+            "error", "Bad Request",
+            "message", "Missing required parameter '" + ex.getParameterName() + "'."
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
+    /**
+     * Handles a ConflictException thrown when an update names a version that is no longer current.
+     * 
+     * Converts the exception into a HTTP 409 Conflict response with a JSON body containing
+     * the error type and descriptive message.
+     * 
+     * @param ex The ConflictException instance that was thrown
+     * @return ResponseEntity with HTTP 409 status and error details in the body
+     */
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<Map<String, String>> handleConflict(ConflictException ex) {
+        Map<String, String> body = Map.of(
+            "error", "Conflict",
+            "message", ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
+    /**
+     * Handles an OptimisticLockingFailureException thrown when Hibernate finds that a versioned
+     * entity was changed by another transaction while it was being updated.
+     * 
+     * Converts the exception into a HTTP 409 Conflict response, the same as a ConflictException.
+     * 
+     * @param ex The OptimisticLockingFailureException instance that was thrown
+     * @return ResponseEntity with HTTP 409 status and error details in the body
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        Map<String, String> body = Map.of(
+            "error", "Conflict",
+            "message", "The resource was modified by another request, reload it and retry."
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
+    /**
+     * Handles a ServiceUnavailableException thrown when a request cannot be served yet.
+     * 
+     * Converts the exception into a HTTP 503 Service Unavailable response with a JSON body containing
+     * the error type and descriptive message.
+     * 
+     * @param ex The ServiceUnavailableException instance that was thrown
+     * @return ResponseEntity with HTTP 503 status and error details in the body
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<Map<String, String>> handleServiceUnavailable(ServiceUnavailableException ex) {
+        Map<String, String> body = Map.of(
+            "error", "Service Unavailable",
+            "message", ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(body);
+    }
+
     /**
      * Handles all other uncaught exceptions.
      * 
@@ -1,19 +1,41 @@
 package com.brendan.springdock.exceptions;
 
+import java.util.Map;
+
 /**
  * Defines a custom exception to be thrown when a requested resource is not found.
  * 
  * Specifically used when a User or Skill entity cannot be found.
+ * 
+ * Looking up IDs that do not exist is routine, so the exception does not capture a stack trace,
+ * and its JSON error body is built once when it is created. Instances are immutable and are
+ * reused for repeated lookups of the same missing ID, see NotFoundCache.
  */
 public class ResourceNotFoundException extends RuntimeException {
 
+    // The response body written by GlobalExceptionHandler
+    private final Map<String, String> body;
+
     /**
      * Constructs a new ResourceNotFoundException with the specified detail message.
      * 
      * @param message The detail message explaining the reason for the exception
      */
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
+        this.body = Map.of(
+            "error", "Not Found",
+            "message", message
+        );
+    }
+
+    /**
+     * Returns the JSON error body of the exception.
+     * 
+     * @return The error type and message
+     */
+    public Map<String, String> getBody() {
+        return body;
     }
     
 }
@@ -0,0 +1,19 @@
+package com.brendan.springdock.exceptions;
+
+/**
+ * Defines a custom exception to be thrown when a request cannot be served yet.
+ * 
+ * Specifically used when an in-memory index the request depends on is still being built.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    /**
+     * Constructs a new ServiceUnavailableException with the specified detail message.
+     * 
+     * @param message The detail message explaining the reason for the exception
+     */
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+    
+}
@@ -2,8 +2,13 @@ package com.brendan.springdock.models;
 
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -11,7 +16,9 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 /**
  * Represents an individual Skill in the system that a User can have.
@@ -19,14 +26,29 @@ import jakarta.persistence.Table;
  * Mapped to the 'skills' table in the database, where each Skill has a unique ID as the
  * primary key (PK). The ID is auto-generated to ensure uniqueness. Each Skill can have 
  * a difficulty level represented by an enumerated type.
+ * 
+ * Skills are held in the Hibernate second-level cache, so loading a Skill by ID is served from memory,
+ * see SecondLevelCacheConfig.
  */
 @Entity
 @Table(name = "skills")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Skill.CACHE_REGION)
 public class Skill {
 
+    // Second-level cache region of Skill entities
+    public static final String CACHE_REGION = "skills";
+
+    // Sequence the IDs are drawn from, and the number of IDs reserved by each call, see IdSequenceAligner
+    public static final String ID_SEQUENCE = "skills_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     // Unique identifier for each Skill
+    // IDs come from a pooled sequence, so Hibernate can assign them without an INSERT round trip
+    // and batch inserts. Each sequence call reserves a block of 'allocationSize' IDs.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private long id;
 
     private String name;
@@ -37,6 +59,12 @@ public class Skill {
     @Enumerated(EnumType.STRING)
     private Difficulty difficulty;
 
+    // Incremented on every change to the Skill, used for optimistic locking and as the basis of its ETag
+    // Existing rows start at version 0 when the column is added
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
     // Set of Users associated with the Skill
     @ManyToMany(mappedBy = "skills")
     @JsonIgnore
@@ -58,6 +86,8 @@ public class Skill {
     public long getId() { return id; }
     public void setId(long id) { this.id = id; }
 
+    public long getVersion() { return version; }
+
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
 
@@ -3,14 +3,19 @@ package com.brendan.springdock.models;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.hibernate.annotations.ColumnDefault;
+
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 /**
  * Represents a User in the system, and is mapped to the 'users' table in the database
@@ -21,22 +26,38 @@ import jakarta.persistence.Table;
 @Table(name = "users")
 public class User {
 
+    // Sequence the IDs are drawn from, and the number of IDs reserved by each call, see IdSequenceAligner
+    public static final String ID_SEQUENCE = "users_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     // Unique identifier for each User, serves as the primary key in the database
+    // IDs come from a pooled sequence, so Hibernate can assign them without an INSERT round trip
+    // and batch inserts. Each sequence call reserves a block of 'allocationSize' IDs.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private long id;
 
     private String name;
     private String email;
+
+    // Incremented on every change to the User, including changes to its set of Skills,
+    // used for optimistic locking and as the basis of its ETag
+    // Existing rows start at version 0 when the column is added
+    @Version
+    @ColumnDefault("0")
+    private long version;
     
     // Set of Skills associated with the User, where each User can have multiple Skills, and each Skill can belong to multiple Users
     // The JoinTable 'user_skills' defines the join table in the database that maps Users to Skills.
     // The table will have two foreign keys, 'user_id' referencing the User's primary key, and 'skill_id' referencing the Skills primary key
+    // The primary key (user_id, skill_id) serves lookups by User, and the (skill_id, user_id) index serves reverse lookups by Skill
     @ManyToMany
     @JoinTable(
         name = "user_skills",
         joinColumns = @JoinColumn(name = "user_id"),
-        inverseJoinColumns = @JoinColumn(name = "skill_id")
+        inverseJoinColumns = @JoinColumn(name = "skill_id"),
+        indexes = @Index(name = "idx_user_skills_skill_user", columnList = "skill_id, user_id")
     )
     private Set<Skill> skills;
     
@@ -54,6 +75,8 @@ public class User {
     public long getId() { return id; }
     public void setId(long id) { this.id = id; }
 
+    public long getVersion() { return version; }
+
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
 
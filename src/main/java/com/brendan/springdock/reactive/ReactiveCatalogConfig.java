@@ -0,0 +1,39 @@
+package com.brendan.springdock.reactive;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Starts the reactive read API when 'springdock.reactive.enabled=true'.
+ */
+@Configuration
+@ConditionalOnProperty(name = "springdock.reactive.enabled", havingValue = "true")
+public class ReactiveCatalogConfig {
+
+    /**
+     * Creates the reactive server, which Spring starts and stops with the application.
+     *
+     * @param port The port the reactive server listens on
+     * @param r2dbcUrl The R2DBC URL of the database
+     * @param username The database username
+     * @param password The database password
+     * @param poolSize The number of R2DBC connections kept in the pool
+     * @param objectMapper The application's ObjectMapper
+     * @return The reactive server
+     */
+    @Bean
+    public ReactiveCatalogServer reactiveCatalogServer(
+            @Value("${springdock.reactive.port:8081}") int port,
+            @Value("${springdock.reactive.r2dbc-url:}") String r2dbcUrl,
+            @Value("${springdock.reactive.username:}") String username,
+            @Value("${springdock.reactive.password:}") String password,
+            @Value("${springdock.reactive.pool-size:10}") int poolSize,
+            ObjectMapper objectMapper) {
+        return new ReactiveCatalogServer(port, r2dbcUrl, username, password, poolSize, objectMapper);
+    }
+
+}
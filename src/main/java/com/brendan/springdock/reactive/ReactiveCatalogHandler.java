@@ -0,0 +1,205 @@
+package com.brendan.springdock.reactive;
+
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.brendan.springdock.dto.CursorPage;
+import com.brendan.springdock.dto.SkillView;
+import com.brendan.springdock.dto.UserDetailView;
+import com.brendan.springdock.dto.UserView;
+import com.brendan.springdock.exceptions.BadRequestException;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Handles the reactive read API for Skills, Users and the Skills of Users.
+ *
+ * The routes mirror the GET endpoints of SkillController and UserController. Lists are streamed
+ * from the database in keyset pages: as a JSON array by default, or as newline-delimited JSON when
+ * the client accepts 'application/x-ndjson', in which case every item is flushed as soon as it is read.
+ * List routes accept the same 'after' cursor as the blocking API, and stream every remaining item
+ * when no 'limit' is given.
+ *
+ * Errors use the same JSON body as GlobalExceptionHandler. When no database connection can be
+ * obtained in time, the response is HTTP 503 (Service Unavailable) with a 'Retry-After' header.
+ * The first page of a list is read before the response starts, so this also holds for lists.
+ */
+public class ReactiveCatalogHandler {
+
+    private final ReactiveCatalogRepository repository;
+
+    public ReactiveCatalogHandler(ReactiveCatalogRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Builds the routes of the reactive read API.
+     *
+     * @return The router function serving every route
+     */
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+            .GET("/skills", deferred(this::listSkills))
+            .GET("/skill/{id}", deferred(this::getSkill))
+            .GET("/skill/{id}/users", deferred(this::listUsersWithSkill))
+            .GET("/users", deferred(this::listUsers))
+            .GET("/user/{id}", deferred(this::getUser))
+            .GET("/user/{id}/skills", deferred(this::listSkillsOfUser))
+            .onError(IllegalArgumentException.class, (ex, request) -> error(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage()))
+            .onError(BadRequestException.class, (ex, request) -> error(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage()))
+            .onError(ReactiveCatalogHandler::isDatabaseUnavailable, (ex, request) -> unavailable())
+            .build();
+    }
+
+    /**
+     * HTTP GET /skills
+     * Streams the Skills in ID order, optionally continuing after a cursor and limited in number.
+     *
+     * @param request The request, with optional 'after' and 'limit' query parameters
+     * @return HTTP 200 (OK) with the Skills
+     */
+    private Mono<ServerResponse> listSkills(ServerRequest request) {
+        return repository.findSkills(after(request), limit(request))
+            .flatMap(skills -> stream(request, skills, SkillView.class));
+    }
+
+    /**
+     * HTTP GET /skill/{id}
+     * Returns a single Skill by ID.
+     *
+     * @param request The request, with the Skill ID as a path variable
+     * @return HTTP 200 (OK) with the Skill, or HTTP 404 (Not Found) if it does not exist
+     */
+    private Mono<ServerResponse> getSkill(ServerRequest request) {
+        long id = id(request);
+        return repository.findSkill(id)
+            .flatMap(skill -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(skill))
+            .switchIfEmpty(notFound("Skill not found with id: " + id));
+    }
+
+    /**
+     * HTTP GET /skill/{id}/users
+     * Streams the Users holding a Skill, in ID order.
+     *
+     * @param request The request, with the Skill ID as a path variable and optional 'after' and 'limit' query parameters
+     * @return HTTP 200 (OK) with the Users, or HTTP 404 (Not Found) if the Skill does not exist
+     */
+    private Mono<ServerResponse> listUsersWithSkill(ServerRequest request) {
+        long id = id(request);
+        long after = after(request);
+        Integer limit = limit(request);
+        return repository.findSkill(id)
+            .flatMap(skill -> repository.findUsersWithSkill(id, after, limit))
+            .flatMap(users -> stream(request, users, UserView.class))
+            .switchIfEmpty(notFound("Skill not found with id: " + id));
+    }
+
+    /**
+     * HTTP GET /users
+     * Streams the Users in ID order, optionally continuing after a cursor and limited in number.
+     *
+     * @param request The request, with optional 'after' and 'limit' query parameters
+     * @return HTTP 200 (OK) with the Users
+     */
+    private Mono<ServerResponse> listUsers(ServerRequest request) {
+        return repository.findUsers(after(request), limit(request))
+            .flatMap(users -> stream(request, users, UserView.class));
+    }
+
+    /**
+     * HTTP GET /user/{id}
+     * Returns a single User with its Skills.
+     *
+     * @param request The request, with the User ID as a path variable
+     * @return HTTP 200 (OK) with the User, or HTTP 404 (Not Found) if it does not exist
+     */
+    private Mono<ServerResponse> getUser(ServerRequest request) {
+        long id = id(request);
+        return repository.findUser(id)
+            .zipWhen(user -> repository.findSkillsOfUser(id).flatMap(Flux::collectList))
+            .map(pair -> UserDetailView.of(pair.getT1(), pair.getT2()))
+            .flatMap(user -> ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(user))
+            .switchIfEmpty(notFound("User not found with id: " + id));
+    }
+
+    /**
+     * HTTP GET /user/{id}/skills
+     * Streams the Skills of a User, in ID order.
+     *
+     * @param request The request, with the User ID as a path variable
+     * @return HTTP 200 (OK) with the Skills, or HTTP 404 (Not Found) if the User does not exist
+     */
+    private Mono<ServerResponse> listSkillsOfUser(ServerRequest request) {
+        long id = id(request);
+        return repository.findUser(id)
+            .flatMap(user -> repository.findSkillsOfUser(id))
+            .flatMap(skills -> stream(request, skills, SkillView.class))
+            .switchIfEmpty(notFound("User not found with id: " + id));
+    }
+
+    // Runs a handler lazily, so errors it throws while parsing the request reach the 'onError' handlers
+    private static HandlerFunction<ServerResponse> deferred(HandlerFunction<ServerResponse> handler) {
+        return request -> Mono.defer(() -> handler.handle(request));
+    }
+
+    // Writes a stream of items as NDJSON if the client accepts it, otherwise as a JSON array
+    private static <T> Mono<ServerResponse> stream(ServerRequest request, Flux<T> items, Class<T> type) {
+        MediaType contentType = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+            ? MediaType.APPLICATION_NDJSON
+            : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(contentType).body(items, type);
+    }
+
+    private static long id(ServerRequest request) {
+        return Long.parseLong(request.pathVariable("id"));
+    }
+
+    private static long after(ServerRequest request) {
+        return CursorPage.decodeCursor(request.queryParam("after").orElse(null));
+    }
+
+    // Returns the requested limit, or null to stream every item
+    private static Integer limit(ServerRequest request) {
+        return request.queryParam("limit")
+            .map(limit -> CursorPage.resolveLimit(Integer.valueOf(limit)))
+            .orElse(null);
+    }
+
+    // Whether an error means no database connection could be obtained, such as the pool acquire timeout
+    private static boolean isDatabaseUnavailable(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataAccessResourceFailureException || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Mono<ServerResponse> unavailable() {
+        return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header("Retry-After", "1")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(Map.of("error", "Service Unavailable", "message", "No database connection is available, please retry shortly."));
+    }
+
+    private static Mono<ServerResponse> notFound(String message) {
+        return Mono.defer(() -> error(HttpStatus.NOT_FOUND, "Not Found", message));
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, String error, String message) {
+        return ServerResponse.status(status)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(Map.of("error", error, "message", message != null ? message : error));
+    }
+
+}
@@ -0,0 +1,186 @@
+package com.brendan.springdock.reactive;
+
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.brendan.springdock.dto.SkillView;
+import com.brendan.springdock.dto.UserView;
+import com.brendan.springdock.models.Skill.Difficulty;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking read queries over the 'skills', 'users' and 'user_skills' tables.
+ *
+ * Reads the same schema the JPA entities map, through R2DBC. Lists are ordered by ID and continue
+ * after a given ID, the same keyset order as the blocking API.
+ *
+ * Lists are read one keyset page at a time. Each page is a separate query that is read in full, which
+ * returns its connection to the pool, before its items are written to the client. The next page is
+ * queried once the subscriber has requested past the current one, so a slow client holds at most a page
+ * of items in memory and no connection while it reads.
+ */
+public class ReactiveCatalogRepository {
+
+    // Number of rows read by each page query
+    private static final int PAGE_SIZE = 256;
+
+    private static final String SKILL_COLUMNS = "s.id, s.name, s.description, s.category, s.difficulty, s.version";
+    private static final String USER_COLUMNS = "u.id, u.name, u.email, u.version";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveCatalogRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Reads the Skills with an ID greater than 'after', in ID order.
+     *
+     * @param after The Skill ID to continue after, 0 for the first Skill
+     * @param limit The maximum number of Skills, or null to read all remaining Skills
+     * @return The Skills, emitted once the first page is read
+     */
+    public Mono<Flux<SkillView>> findSkills(long after, Integer limit) {
+        return paged(after, limit, SkillView::id, (pageAfter, pageSize) ->
+            databaseClient.sql("select " + SKILL_COLUMNS + " from skills s where s.id > :after order by s.id limit :limit")
+                .bind("after", pageAfter)
+                .bind("limit", pageSize)
+                .map(ReactiveCatalogRepository::toSkill)
+                .all());
+    }
+
+    /**
+     * Finds a Skill by ID.
+     *
+     * @param id The ID of the Skill
+     * @return The Skill, or an empty Mono if it does not exist
+     */
+    public Mono<SkillView> findSkill(long id) {
+        return databaseClient.sql("select " + SKILL_COLUMNS + " from skills s where s.id = :id")
+            .bind("id", id)
+            .map(ReactiveCatalogRepository::toSkill)
+            .one();
+    }
+
+    /**
+     * Reads the Skills of a User, in ID order.
+     *
+     * @param userId The ID of the User
+     * @return The Skills of the User, emitted once the first page is read
+     */
+    public Mono<Flux<SkillView>> findSkillsOfUser(long userId) {
+        return paged(0, null, SkillView::id, (pageAfter, pageSize) ->
+            databaseClient.sql("select " + SKILL_COLUMNS + " from user_skills us join skills s on s.id = us.skill_id"
+                    + " where us.user_id = :userId and s.id > :after order by s.id limit :limit")
+                .bind("userId", userId)
+                .bind("after", pageAfter)
+                .bind("limit", pageSize)
+                .map(ReactiveCatalogRepository::toSkill)
+                .all());
+    }
+
+    /**
+     * Reads the Users with an ID greater than 'after', in ID order.
+     *
+     * @param after The User ID to continue after, 0 for the first User
+     * @param limit The maximum number of Users, or null to read all remaining Users
+     * @return The Users, emitted once the first page is read
+     */
+    public Mono<Flux<UserView>> findUsers(long after, Integer limit) {
+        return paged(after, limit, UserView::id, (pageAfter, pageSize) ->
+            databaseClient.sql("select " + USER_COLUMNS + " from users u where u.id > :after order by u.id limit :limit")
+                .bind("after", pageAfter)
+                .bind("limit", pageSize)
+                .map(ReactiveCatalogRepository::toUser)
+                .all());
+    }
+
+    /**
+     * Finds a User by ID.
+     *
+     * @param id The ID of the User
+     * @return The User, or an empty Mono if it does not exist
+     */
+    public Mono<UserView> findUser(long id) {
+        return databaseClient.sql("select " + USER_COLUMNS + " from users u where u.id = :id")
+            .bind("id", id)
+            .map(ReactiveCatalogRepository::toUser)
+            .one();
+    }
+
+    /**
+     * Reads the Users holding a Skill, with an ID greater than 'after', in ID order.
+     *
+     * @param skillId The ID of the Skill
+     * @param after The User ID to continue after, 0 for the first User
+     * @param limit The maximum number of Users, or null to read all remaining Users
+     * @return The Users holding the Skill, emitted once the first page is read
+     */
+    public Mono<Flux<UserView>> findUsersWithSkill(long skillId, long after, Integer limit) {
+        return paged(after, limit, UserView::id, (pageAfter, pageSize) ->
+            databaseClient.sql("select " + USER_COLUMNS + " from user_skills us join users u on u.id = us.user_id"
+                    + " where us.skill_id = :skillId and us.user_id > :after order by us.user_id limit :limit")
+                .bind("skillId", skillId)
+                .bind("after", pageAfter)
+                .bind("limit", pageSize)
+                .map(ReactiveCatalogRepository::toUser)
+                .all());
+    }
+
+    // Reads the first page, then returns every item of it and the following pages, each page queried once the previous one is consumed
+    // The first page is read before the Mono completes, so failing to get a connection fails it before a response is started
+    private static <T> Mono<Flux<T>> paged(long after, Integer limit, ToLongFunction<T> idOf, PageQuery<T> query) {
+        long remaining = limit != null ? limit : Long.MAX_VALUE;
+        return fetchPage(after, remaining, idOf, query)
+            .map(first -> Mono.just(first)
+                .expand(page -> page.hasMore() ? fetchPage(page.lastId(), page.remaining(), idOf, query) : Mono.empty())
+                .concatMapIterable(Page::items, 1));
+    }
+
+    // Reads one page completely, releasing its connection, and works out where the next page starts
+    private static <T> Mono<Page<T>> fetchPage(long after, long remaining, ToLongFunction<T> idOf, PageQuery<T> query) {
+        int pageSize = (int) Math.min(remaining, PAGE_SIZE);
+        return query.fetch(after, pageSize)
+            .collectList()
+            .map(items -> items.isEmpty() || items.size() < pageSize
+                ? new Page<>(items, after, 0)
+                : new Page<>(items, idOf.applyAsLong(items.get(items.size() - 1)), remaining - pageSize));
+    }
+
+    // Queries the page of at most 'limit' rows with an ID greater than 'after'
+    @FunctionalInterface
+    private interface PageQuery<T> {
+        Flux<T> fetch(long after, int limit);
+    }
+
+    // A page of items, the ID the next page continues after, and how many items may still follow
+    private record Page<T>(List<T> items, long lastId, long remaining) {
+
+        boolean hasMore() {
+            return remaining > 0;
+        }
+
+    }
+
+    private static SkillView toSkill(Readable row) {
+        String difficulty = row.get("difficulty", String.class);
+        return new SkillView(
+            row.get("id", Long.class),
+            row.get("name", String.class),
+            row.get("description", String.class),
+            row.get("category", String.class),
+            difficulty != null ? Difficulty.valueOf(difficulty) : null,
+            row.get("version", Long.class)
+        );
+    }
+
+    private static UserView toUser(Readable row) {
+        return new UserView(row.get("id", Long.class), row.get("name", String.class), row.get("email", String.class), row.get("version", Long.class));
+    }
+
+}
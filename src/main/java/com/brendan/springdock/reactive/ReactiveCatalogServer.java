@@ -0,0 +1,128 @@
+package com.brendan.springdock.reactive;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Runs the reactive read API on its own Netty server, next to the servlet API.
+ *
+ * The servlet application keeps serving every endpoint on its usual port, including all writes.
+ * This server serves the read routes of ReactiveCatalogHandler on a separate port, on a small
+ * number of event loop threads, reading through an R2DBC connection pool over the same schema.
+ *
+ * The R2DBC ConnectionFactory is owned by this server rather than registered as a bean, because
+ * a ConnectionFactory bean would make Spring Boot skip configuring the JDBC DataSource that JPA uses.
+ */
+public class ReactiveCatalogServer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveCatalogServer.class);
+
+    private final int port;
+    private final String r2dbcUrl;
+    private final String username;
+    private final String password;
+    private final int poolSize;
+    private final ObjectMapper objectMapper;
+
+    private ConnectionPool connectionPool;
+    private DisposableServer server;
+
+    /**
+     * Creates the server, which is started and stopped with the application context.
+     *
+     * @param port The port to listen on, 0 for a random port
+     * @param r2dbcUrl The R2DBC URL of the database, for example 'r2dbc:postgresql://postgres:5432/springdock'
+     * @param username The database username, may be blank if the URL contains the credentials
+     * @param password The database password
+     * @param poolSize The number of R2DBC connections kept in the pool
+     * @param objectMapper The application's ObjectMapper, so both APIs render JSON the same way
+     */
+    public ReactiveCatalogServer(int port, String r2dbcUrl, String username, String password, int poolSize, ObjectMapper objectMapper) {
+        this.port = port;
+        this.r2dbcUrl = r2dbcUrl;
+        this.username = username;
+        this.password = password;
+        this.poolSize = poolSize;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (r2dbcUrl == null || r2dbcUrl.isBlank()) {
+            throw new IllegalStateException("springdock.reactive.r2dbc-url must be set when springdock.reactive.enabled=true.");
+        }
+
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(r2dbcUrl).mutate();
+        if (username != null && !username.isBlank()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+        connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+            .initialSize(poolSize)
+            .maxSize(poolSize)
+            .maxAcquireTime(Duration.ofSeconds(5))
+            .build());
+
+        ReactiveCatalogHandler handler = new ReactiveCatalogHandler(new ReactiveCatalogRepository(DatabaseClient.create(connectionPool)));
+        HandlerStrategies strategies = HandlerStrategies.builder()
+            .codecs(codecs -> {
+                codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+            })
+            .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(handler.routes(), strategies);
+
+        server = HttpServer.create()
+            .port(port)
+            .compress(true)
+            .handle(new ReactorHttpHandlerAdapter(httpHandler))
+            .bindNow();
+        log.info("Reactive read API listening on port {}", server.port());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (server != null) {
+            server.disposeNow(Duration.ofSeconds(10));
+            server = null;
+        }
+        if (connectionPool != null) {
+            connectionPool.dispose();
+            connectionPool = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     *
+     * @return The bound port, or -1 if the server is not running
+     */
+    public synchronized int getPort() {
+        return server != null ? server.port() : -1;
+    }
+
+}
@@ -0,0 +1,94 @@
+package com.brendan.springdock.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Repository;
+
+import com.brendan.springdock.models.Skill;
+import com.brendan.springdock.models.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+/**
+ * Repository reading only the selected columns of Skills and Users.
+ * 
+ * Queries are built with the Criteria API as tuple queries, so the SELECT list contains just the
+ * requested fields and no entity is created or held in the persistence context. Each row is returned
+ * as a map from field name to value, in the order the fields were given.
+ * 
+ * Field names are the attribute names of the entities and must already be validated by the caller.
+ */
+@Repository
+public class FieldProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    public FieldProjectionRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Reads the given fields of the Skills with an ID greater than the given ID, ordered by ID.
+     * 
+     * @param fields The fields to read
+     * @param after The ID to continue after
+     * @param limit The maximum number of Skills to return
+     * @return The selected fields of the next Skills in ID order
+     */
+    public List<Map<String, Object>> findSkillsAfter(Collection<String> fields, long after, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Skill> skill = query.from(Skill.class);
+        query.multiselect(selections(skill, fields))
+            .where(builder.greaterThan(skill.<Long>get("id"), after))
+            .orderBy(builder.asc(skill.get("id")));
+        return toMaps(entityManager.createQuery(query).setMaxResults(limit).getResultList(), fields);
+    }
+
+    /**
+     * Reads the given fields of the Users with the given IDs, ordered by ID.
+     * 
+     * @param fields The fields to read
+     * @param ids The IDs of the Users
+     * @return The selected fields of the Users that exist, in ID order
+     */
+    public List<Map<String, Object>> findUsersByIdIn(Collection<String> fields, Collection<Long> ids) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<User> user = query.from(User.class);
+        query.multiselect(selections(user, fields))
+            .where(user.get("id").in(ids))
+            .orderBy(builder.asc(user.get("id")));
+        return toMaps(entityManager.createQuery(query).getResultList(), fields);
+    }
+
+    private static List<Selection<?>> selections(Root<?> root, Collection<String> fields) {
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            selections.add(root.get(field).alias(field));
+        }
+        return selections;
+    }
+
+    private static List<Map<String, Object>> toMaps(List<Tuple> rows, Collection<String> fields) {
+        List<Map<String, Object>> maps = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (String field : fields) {
+                values.put(field, row.get(field));
+            }
+            maps.add(values);
+        }
+        return maps;
+    }
+
+}
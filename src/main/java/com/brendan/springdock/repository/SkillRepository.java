@@ -1,14 +1,110 @@
 package com.brendan.springdock.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.brendan.springdock.dto.EntityVersion;
+import com.brendan.springdock.dto.SkillView;
 import com.brendan.springdock.models.Skill;
+import com.brendan.springdock.models.Skill.Difficulty;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository interface providing CRUD operations for Skill entities.
  */
 @Repository
 public interface SkillRepository extends JpaRepository<Skill, Long> {
+
+    /**
+     * Retrieves the Skills with an ID greater than the given ID, ordered by ID, as read models.
+     * Used for keyset pagination, so each page is an index range scan on the primary key.
+     * The rows are read straight into records, so nothing is held in the persistence context.
+     * Results are held in the query cache until the 'skills' table is written.
+     * 
+     * @param after The ID to continue after
+     * @param limit The maximum number of Skills to return
+     * @return The next Skills in ID order
+     */
+    @Query("select new com.brendan.springdock.dto.SkillView(s.id, s.name, s.description, s.category, s.difficulty, s.version) "
+         + "from Skill s where s.id > :after order by s.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<SkillView> findViewsAfter(@Param("after") long after, Limit limit);
+
+    /**
+     * Retrieves every Skill, ordered by ID, as read models.
+     * 
+     * @return Every Skill in ID order
+     */
+    @Query("select new com.brendan.springdock.dto.SkillView(s.id, s.name, s.description, s.category, s.difficulty, s.version) "
+         + "from Skill s order by s.id")
+    List<SkillView> findAllViews();
+
+    /**
+     * Retrieves the Skills with the given IDs as read models.
+     * 
+     * @param ids The IDs of the Skills
+     * @return The Skills that exist, in no particular order
+     */
+    @Query("select new com.brendan.springdock.dto.SkillView(s.id, s.name, s.description, s.category, s.difficulty, s.version) "
+         + "from Skill s where s.id in :ids")
+    List<SkillView> findViewsByIdIn(@Param("ids") Collection<? extends Long> ids);
+
+    /**
+     * Retrieves the version of a Skill without loading the Skill.
+     * 
+     * @param id The ID of the Skill
+     * @return The version of the Skill, or empty if not found
+     */
+    @Query("select s.version from Skill s where s.id = :id")
+    Optional<Long> findVersionById(@Param("id") long id);
+
+    /**
+     * Retrieves the IDs and versions of the Skills with an ID greater than the given ID, ordered by ID.
+     * Reads the same rows as 'findViewsAfter', but only the ID and version columns.
+     * Results are held in the query cache until the 'skills' table is written.
+     * 
+     * @param after The ID to continue after
+     * @param limit The maximum number of Skills to return
+     * @return The IDs and versions of the next Skills in ID order
+     */
+    @Query("select new com.brendan.springdock.dto.EntityVersion(s.id, s.version) from Skill s where s.id > :after order by s.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<EntityVersion> findVersionsAfter(@Param("after") long after, Limit limit);
+
+    /**
+     * Updates the given fields of a Skill and increments its version, if the Skill is still at the given version.
+     * Runs as a single UPDATE statement, null arguments keep the current value of their field.
+     * 
+     * @param id The ID of the Skill
+     * @param version The version the Skill must be at
+     * @param name The new name, or null to keep it
+     * @param description The new description, or null to keep it
+     * @param category The new category, or null to keep it
+     * @param difficulty The new difficulty, or null to keep it
+     * @return 1 if the Skill was updated, 0 if it does not exist or is at another version
+     */
+    @Modifying
+    @Query("update Skill s set s.name = coalesce(:name, s.name), s.description = coalesce(:description, s.description), "
+         + "s.category = coalesce(:category, s.category), s.difficulty = coalesce(:difficulty, s.difficulty), "
+         + "s.version = s.version + 1 where s.id = :id and s.version = :version")
+    int patch(
+        @Param("id") long id,
+        @Param("version") long version,
+        @Param("name") String name,
+        @Param("description") String description,
+        @Param("category") String category,
+        @Param("difficulty") Difficulty difficulty
+    );
     
 }
@@ -1,10 +1,27 @@
 package com.brendan.springdock.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.brendan.springdock.dto.UserExportRow;
+import com.brendan.springdock.dto.UserVersion;
+import com.brendan.springdock.dto.UserView;
 import com.brendan.springdock.models.User;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository interface providing CRUD operations for User entities.
  * 
@@ -16,5 +33,103 @@ import com.brendan.springdock.models.User;
  */
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> { 
+
+    /**
+     * Retrieves the IDs of the Users with an ID greater than the given ID, ordered by ID.
+     * Only the primary key index is read, the Users themselves are loaded afterwards with their Skills.
+     * 
+     * @param after The ID to continue after
+     * @param limit The maximum number of IDs to return
+     * @return The next User IDs in ID order
+     */
+    @Query("select u.id from User u where u.id > :after order by u.id")
+    List<Long> findIdsAfter(@Param("after") long after, Limit limit);
+
+    /**
+     * Retrieves the Users with the given IDs as read models, without their Skills.
+     * The rows are read straight into records, so nothing is held in the persistence context.
+     * 
+     * @param ids The IDs of the Users to retrieve
+     * @return The Users ordered by ID
+     */
+    @Query("select new com.brendan.springdock.dto.UserView(u.id, u.name, u.email, u.version) from User u where u.id in :ids order by u.id")
+    List<UserView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Retrieves a User by its ID as a read model, without its Skills.
+     * 
+     * @param id The ID of the User to retrieve
+     * @return The User, or empty if not found
+     */
+    @Query("select new com.brendan.springdock.dto.UserView(u.id, u.name, u.email, u.version) from User u where u.id = :id")
+    Optional<UserView> findViewById(@Param("id") long id);
+
+    /**
+     * Retrieves a User by its ID with its Skills fetched in the same query.
+     * 
+     * @param id The ID of the User to retrieve
+     * @return The User with its Skills initialized, or empty if not found
+     */
+    @EntityGraph(attributePaths = "skills")
+    Optional<User> findWithSkillsById(long id);
+
+    /**
+     * Streams every User paired with each of its Skill IDs, ordered by User ID.
+     * 
+     * Rows are read from a database cursor in batches of the configured fetch size rather than
+     * materialized as a list, and are plain projections so nothing is held in the persistence context.
+     * Must be consumed inside a transaction, and the stream must be closed once consumed.
+     * 
+     * @return A stream of export rows, one per User and Skill pair
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.brendan.springdock.dto.UserExportRow(u.id, u.name, u.email, s.id) "
+         + "from User u left join u.skills s order by u.id, s.id")
+    Stream<UserExportRow> streamExportRows();
+
+    /**
+     * Retrieves the version of a User and the versions of its Skills, without loading the User.
+     * 
+     * @param id The ID of the User
+     * @return The versions, or empty if the User is not found
+     */
+    @Query("select new com.brendan.springdock.dto.UserVersion(u.version, coalesce(sum(s.version), 0L)) "
+         + "from User u left join u.skills s where u.id = :id group by u.id, u.version")
+    Optional<UserVersion> findVersionById(@Param("id") long id);
+
+    /**
+     * Retrieves the version of a User without loading the User or reading its Skills.
+     * 
+     * @param id The ID of the User
+     * @return The version of the User, or empty if not found
+     */
+    @Query("select u.version from User u where u.id = :id")
+    Optional<Long> findOwnVersionById(@Param("id") long id);
+
+    /**
+     * Increments the version of a User.
+     * Used when its Skills change through the join table, which Hibernate does not see as a change to the User.
+     * 
+     * @param id The ID of the User
+     * @return The number of Users updated
+     */
+    @Modifying
+    @Query("update User u set u.version = u.version + 1 where u.id = :id")
+    int incrementVersion(@Param("id") long id);
+
+    /**
+     * Updates the given fields of a User and increments its version, if the User is still at the given version.
+     * Runs as a single UPDATE statement, null arguments keep the current value of their field.
+     * 
+     * @param id The ID of the User
+     * @param version The version the User must be at
+     * @param name The new name, or null to keep it
+     * @param email The new email, or null to keep it
+     * @return 1 if the User was updated, 0 if it does not exist or is at another version
+     */
+    @Modifying
+    @Query("update User u set u.name = coalesce(:name, u.name), u.email = coalesce(:email, u.email), "
+         + "u.version = u.version + 1 where u.id = :id and u.version = :version")
+    int patch(@Param("id") long id, @Param("version") long version, @Param("name") String name, @Param("email") String email);
     
 }
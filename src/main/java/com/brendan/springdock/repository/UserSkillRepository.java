@@ -0,0 +1,205 @@
+package com.brendan.springdock.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository providing set-based operations on the 'user_skills' join table.
+ * 
+ * Assigning or removing Skills through the User entity loads the User, its whole Skill collection,
+ * and every requested Skill before writing. These statements work on the join table directly instead,
+ * so their cost depends only on the number of Skill IDs in the request.
+ * 
+ * Statements run through the JDBC connection of the current JPA transaction.
+ */
+@Repository
+public class UserSkillRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public UserSkillRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Locks the row of the User until the end of the transaction.
+     * Changes to the Skills of one User lock it first, so they run one after another and each one
+     * computes its delta from the assignments committed by the previous one.
+     * 
+     * @param userId The ID of the User
+     * @return Whether the User exists
+     */
+    public boolean lockUser(long userId) {
+        return !jdbcTemplate.queryForList(
+            "select id from users where id = :userId for update",
+            Map.of("userId", userId),
+            Long.class
+        ).isEmpty();
+    }
+
+    /**
+     * Finds which of the given Skills exist and are not yet assigned to the User.
+     * 
+     * @param userId The ID of the User
+     * @param skillIds The IDs of the Skills to check
+     * @return The IDs of the existing Skills the User does not have yet
+     */
+    public List<Long> findAssignableSkillIds(long userId, Collection<Long> skillIds) {
+        return jdbcTemplate.queryForList(
+            "select s.id from skills s where s.id in (:skillIds) "
+                + "and not exists (select 1 from user_skills us where us.user_id = :userId and us.skill_id = s.id) "
+                + "order by s.id",
+            Map.of("userId", userId, "skillIds", skillIds),
+            Long.class
+        );
+    }
+
+    /**
+     * Finds the IDs of the Skills of each of the given Users.
+     * Served by the (user_id, skill_id) primary key, without reading the 'users' or 'skills' tables.
+     * 
+     * @param userIds The IDs of the Users
+     * @return The Skill IDs of each User that has Skills, ordered by Skill ID
+     */
+    public Map<Long, List<Long>> findSkillIdsByUser(Collection<Long> userIds) {
+        Map<Long, List<Long>> skillIds = new HashMap<>();
+        jdbcTemplate.query(
+            "select user_id, skill_id from user_skills where user_id in (:userIds) order by user_id, skill_id",
+            Map.of("userIds", userIds),
+            (RowCallbackHandler) row -> skillIds.computeIfAbsent(row.getLong(1), userId -> new ArrayList<>()).add(row.getLong(2))
+        );
+        return skillIds;
+    }
+
+    /**
+     * Assigns the given Skills to the User, skipping unknown Skills and Skills the User already has.
+     * 
+     * @param userId The ID of the User
+     * @param skillIds The IDs of the Skills to assign
+     * @return The number of Skills assigned
+     */
+    public int insertIfAbsent(long userId, Collection<Long> skillIds) {
+        return jdbcTemplate.update(
+            "insert into user_skills (user_id, skill_id) "
+                + "select :userId, s.id from skills s where s.id in (:skillIds) "
+                + "and not exists (select 1 from user_skills us where us.user_id = :userId and us.skill_id = s.id)",
+            Map.of("userId", userId, "skillIds", skillIds)
+        );
+    }
+
+    /**
+     * Finds which of the given Skills are currently assigned to the User.
+     * 
+     * @param userId The ID of the User
+     * @param skillIds The IDs of the Skills to check
+     * @return The IDs of the given Skills the User has
+     */
+    public List<Long> findAssignedSkillIds(long userId, Collection<Long> skillIds) {
+        return jdbcTemplate.queryForList(
+            "select skill_id from user_skills where user_id = :userId and skill_id in (:skillIds) order by skill_id",
+            Map.of("userId", userId, "skillIds", skillIds),
+            Long.class
+        );
+    }
+
+    /**
+     * Removes the given Skills from the User.
+     * 
+     * @param userId The ID of the User
+     * @param skillIds The IDs of the Skills to remove
+     * @return The number of Skills removed
+     */
+    public int delete(long userId, Collection<Long> skillIds) {
+        return jdbcTemplate.update(
+            "delete from user_skills where user_id = :userId and skill_id in (:skillIds)",
+            Map.of("userId", userId, "skillIds", skillIds)
+        );
+    }
+
+    /**
+     * Increments the versions of every User that has a Skill, since removing the Skill changes them.
+     * Must run before 'deleteBySkill', while the assignments still exist.
+     * 
+     * @param skillId The ID of the Skill
+     * @return The number of Users updated
+     */
+    public int incrementHolderVersions(long skillId) {
+        return jdbcTemplate.update(
+            "update users set version = version + 1 where id in (select user_id from user_skills where skill_id = :skillId)",
+            Map.of("skillId", skillId)
+        );
+    }
+
+    /**
+     * Removes a Skill from every User that has it.
+     * 
+     * @param skillId The ID of the Skill
+     * @return The number of assignments removed
+     */
+    public int deleteBySkill(long skillId) {
+        return jdbcTemplate.update(
+            "delete from user_skills where skill_id = :skillId",
+            Map.of("skillId", skillId)
+        );
+    }
+
+    /**
+     * Finds the Users that have the given Skill, ordered by User ID.
+     * Served by the (skill_id, user_id) index, so each page is a single index range scan.
+     * 
+     * @param skillId The ID of the Skill
+     * @param afterUserId The User ID to continue after
+     * @param limit The maximum number of User IDs to return
+     * @return The IDs of the Users with the Skill
+     */
+    public List<Long> findUserIdsWithSkill(long skillId, long afterUserId, int limit) {
+        return jdbcTemplate.queryForList(
+            "select user_id from user_skills where skill_id = :skillId and user_id > :after "
+                + "order by user_id limit :limit",
+            Map.of("skillId", skillId, "after", afterUserId, "limit", limit),
+            Long.class
+        );
+    }
+
+    /**
+     * Finds the Users that have at least one of the given Skills, ordered by User ID.
+     * 
+     * @param skillIds The IDs of the Skills
+     * @param afterUserId The User ID to continue after
+     * @param limit The maximum number of User IDs to return
+     * @return The IDs of the Users with any of the Skills
+     */
+    public List<Long> findUserIdsWithAnySkill(Collection<Long> skillIds, long afterUserId, int limit) {
+        return jdbcTemplate.queryForList(
+            "select distinct user_id from user_skills where skill_id in (:skillIds) and user_id > :after "
+                + "order by user_id limit :limit",
+            Map.of("skillIds", skillIds, "after", afterUserId, "limit", limit),
+            Long.class
+        );
+    }
+
+    /**
+     * Finds the Users that have every one of the given Skills, ordered by User ID.
+     * 
+     * @param skillIds The distinct IDs of the Skills
+     * @param afterUserId The User ID to continue after
+     * @param limit The maximum number of User IDs to return
+     * @return The IDs of the Users with all of the Skills
+     */
+    public List<Long> findUserIdsWithAllSkills(Collection<Long> skillIds, long afterUserId, int limit) {
+        return jdbcTemplate.queryForList(
+            "select user_id from user_skills where skill_id in (:skillIds) and user_id > :after "
+                + "group by user_id having count(*) = :skillCount order by user_id limit :limit",
+            Map.of("skillIds", skillIds, "skillCount", skillIds.size(), "after", afterUserId, "limit", limit),
+            Long.class
+        );
+    }
+    
+}
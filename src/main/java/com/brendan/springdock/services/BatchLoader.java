@@ -0,0 +1,160 @@
+package com.brendan.springdock.services;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Merges concurrent point lookups for different keys into one bulk load.
+ *
+ * A lookup arriving while no bulk load is running is loaded right away, on its own, so a lone
+ * lookup never waits. Lookups arriving while a bulk load runs are queued in one batch, which is
+ * loaded as soon as a running load finishes, the batch is full, or the batch window has passed,
+ * whichever comes first. Callers asking for a key already in the queued batch share its entry, so
+ * a key is loaded once per batch.
+ *
+ * No background threads are involved: each bulk load runs in the context of the caller that
+ * started its batch, and the other callers of the batch wait for its result.
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the loaded values
+ */
+final class BatchLoader<K, V> {
+
+    private final Function<Set<K>, Map<K, V>> loader;
+    private final long windowNanos;
+    private final int maxBatchSize;
+
+    // The number of bulk loads running, guarded by 'this'
+    private int running;
+
+    // The batch collecting keys while bulk loads run, null when none is queued, guarded by 'this'
+    private Batch<K, V> queued;
+
+    /**
+     * Creates a batch loader.
+     *
+     * @param loader Loads the values of a set of keys, omitting keys that have no value
+     * @param window The longest time a queued batch waits for a running load to finish
+     * @param maxBatchSize The number of keys at which a queued batch is loaded without waiting
+     */
+    BatchLoader(Function<Set<K>, Map<K, V>> loader, Duration window, int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("The maximum batch size must be at least 1.");
+        }
+        this.loader = loader;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Loads the value of a key, right away if no bulk load is running, otherwise as part of the next batch.
+     *
+     * @param key The key to load
+     * @return The value, or null if the bulk load returned none for the key
+     * @throws RuntimeException the exception the bulk load failed with, rethrown to every caller of the batch
+     */
+    V load(K key) {
+        Batch<K, V> batch;
+        CompletableFuture<V> result;
+        boolean leader = false;
+        boolean waitForLoads = false;
+        synchronized (this) {
+            batch = queued;
+            if (batch == null) {
+                batch = new Batch<>();
+                leader = true;
+                waitForLoads = running > 0;
+                if (waitForLoads) {
+                    queued = batch;
+                } else {
+                    running++;
+                }
+            }
+            result = batch.results.computeIfAbsent(key, k -> new CompletableFuture<>());
+            if (queued == batch && batch.results.size() >= maxBatchSize) {
+                queued = null;
+                batch.ready.countDown();
+            }
+        }
+
+        if (leader) {
+            if (waitForLoads) {
+                awaitRunningLoads(batch);
+            }
+            run(batch);
+        }
+        return join(result);
+    }
+
+    // Waits for a running load to finish, the batch to fill or the window to pass, then closes the batch to new keys
+    private void awaitRunningLoads(Batch<K, V> batch) {
+        try {
+            batch.ready.await(windowNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            // Load right away, and leave the interrupt for the caller to handle
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            if (queued == batch) {
+                queued = null;
+            }
+            running++;
+        }
+    }
+
+    // Loads every key of a closed batch, which no longer changes, completes its results and releases the queued batch
+    private void run(Batch<K, V> batch) {
+        try {
+            Map<K, V> values = loader.apply(batch.results.keySet());
+            batch.results.forEach((key, result) -> result.complete(values.get(key)));
+        } catch (RuntimeException | Error ex) {
+            batch.results.values().forEach(result -> result.completeExceptionally(ex));
+        } finally {
+            synchronized (this) {
+                running--;
+                if (queued != null) {
+                    queued.ready.countDown();
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits for a shared result, rethrowing the exception it failed with as it was thrown.
+     *
+     * @param result The shared result
+     * @return The value of the result
+     */
+    static <V> V join(CompletableFuture<V> result) {
+        try {
+            return result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    // The keys of one batch and their pending results, in the order they were requested
+    private static final class Batch<K, V> {
+
+        // Guarded by the BatchLoader until the batch is closed, read-only afterwards
+        private final Map<K, CompletableFuture<V>> results = new LinkedHashMap<>();
+
+        // Released when a running load finishes or the batch reaches its maximum size
+        private final CountDownLatch ready = new CountDownLatch(1);
+
+    }
+
+}
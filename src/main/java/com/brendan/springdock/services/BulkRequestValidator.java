@@ -0,0 +1,73 @@
+package com.brendan.springdock.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.brendan.springdock.dto.BulkItemError;
+import com.brendan.springdock.exceptions.BadRequestException;
+import com.brendan.springdock.exceptions.BulkValidationException;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Validates the items of bulk create requests before anything is written.
+ * 
+ * Every item is checked against its Jakarta validation constraints, and all errors are collected
+ * so they can be reported per item instead of failing on the first invalid one.
+ */
+@Component
+public class BulkRequestValidator {
+
+    private final Validator validator;
+
+    // Largest number of items accepted in a single bulk request
+    private final int maxItems;
+
+    public BulkRequestValidator(Validator validator, @Value("${springdock.bulk.max-items:50000}") int maxItems) {
+        this.validator = validator;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * Validates every item of a bulk request.
+     * 
+     * @param items The items of the request
+     * @throws BadRequestException if the request is empty or has too many items
+     * @throws BulkValidationException if one or more items are invalid
+     */
+    public <T> void validate(List<T> items) {
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException("Bulk request must contain at least one item.");
+        }
+        if (items.size() > maxItems) {
+            throw new BadRequestException("Bulk request cannot contain more than " + maxItems + " items.");
+        }
+
+        List<BulkItemError> errors = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            if (item == null) {
+                errors.add(new BulkItemError(i, List.of("Item cannot be null.")));
+                continue;
+            }
+            Set<ConstraintViolation<T>> violations = validator.validate(item);
+            if (!violations.isEmpty()) {
+                List<String> messages = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .toList();
+                errors.add(new BulkItemError(i, messages));
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            throw new BulkValidationException(errors);
+        }
+    }
+    
+}
@@ -0,0 +1,243 @@
+package com.brendan.springdock.services;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.brendan.springdock.dto.CatalogStatsDTO;
+import com.brendan.springdock.dto.SkillView;
+import com.brendan.springdock.events.SkillChangedEvent;
+import com.brendan.springdock.events.UserDeletedEvent;
+import com.brendan.springdock.events.UserSkillsChangedEvent;
+import com.brendan.springdock.models.Skill.Difficulty;
+
+/**
+ * Incrementally maintained counters for the Skill catalog statistics.
+ *
+ * Counts of Skills per category and per difficulty, and of holders per Skill, are kept in LongAdders
+ * and adjusted by the events SkillService and UserService publish after their transactions commit, so
+ * reading the statistics never scans a table.
+ *
+ * The counters are rebuilt from the database once the application is ready, and then periodically,
+ * to correct any drift, for example from changes made by other instances or directly in the database.
+ * A reconciliation swaps in a complete new set of counters, so readers never see a half-built set.
+ * Both of its queries read one REPEATABLE READ snapshot, and changes whose listeners run while it is
+ * in progress are buffered and replayed on the new counters before the swap, so they are not lost.
+ */
+@Component
+public class CatalogStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogStatistics.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+
+    // The current counters, replaced as a whole by each reconciliation, swapped while holding 'swapLock'
+    private volatile Counters counters = new Counters();
+
+    // Changes applied while a reconciliation is running, to be replayed on its new counters, guarded by 'swapLock'
+    private List<Consumer<Counters>> pendingChanges;
+
+    private final Object swapLock = new Object();
+
+    private volatile Instant reconciledAt;
+
+    public CatalogStatistics(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * Returns a snapshot of the current statistics.
+     *
+     * @return The Skill counts per category and difficulty, and the holder counts per Skill
+     */
+    public CatalogStatsDTO snapshot() {
+        Counters current = counters;
+
+        Map<String, Long> byCategory = new TreeMap<>();
+        current.skillsByCategory.forEach((category, count) -> putIfPositive(byCategory, category, count.sum()));
+
+        Map<Difficulty, Long> byDifficulty = new LinkedHashMap<>();
+        current.skillsByDifficulty.forEach((difficulty, count) -> byDifficulty.put(difficulty, Math.max(0, count.sum())));
+
+        Map<Long, Long> holders = new TreeMap<>();
+        current.holdersBySkill.forEach((skillId, count) -> putIfPositive(holders, skillId, count.sum()));
+
+        return new CatalogStatsDTO(Math.max(0, current.totalSkills.sum()), byCategory, byDifficulty, holders, reconciledAt);
+    }
+
+    /**
+     * Rebuilds the counters from the database.
+     *
+     * Runs once the application is ready and then at the configured interval.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+        initialDelayString = "${springdock.stats.reconcile-interval:PT5M}",
+        fixedDelayString = "${springdock.stats.reconcile-interval:PT5M}"
+    )
+    public void reconcile() {
+        synchronized (swapLock) {
+            pendingChanges = new ArrayList<>();
+        }
+        Counters fresh = new Counters();
+        try {
+            snapshotTransaction.executeWithoutResult(status -> count(fresh));
+        } catch (RuntimeException ex) {
+            synchronized (swapLock) {
+                pendingChanges = null;
+            }
+            throw ex;
+        }
+
+        Counters previous;
+        synchronized (swapLock) {
+            pendingChanges.forEach(change -> change.accept(fresh));
+            pendingChanges = null;
+            previous = counters;
+            counters = fresh;
+        }
+        reconciledAt = Instant.now();
+
+        long drift = Math.abs(previous.totalSkills.sum() - fresh.totalSkills.sum());
+        if (drift > 0) {
+            log.debug("Catalog statistics reconciled, total skill count corrected by {}", drift);
+        }
+    }
+
+    // Counts the Skills and holders into the given counters, within the snapshot transaction
+    private void count(Counters fresh) {
+        jdbcTemplate.query("select category, difficulty, count(*) from skills group by category, difficulty", row -> {
+            String category = row.getString(1);
+            String difficulty = row.getString(2);
+            long count = row.getLong(3);
+            fresh.totalSkills.add(count);
+            if (category != null) {
+                fresh.skillsByCategory.computeIfAbsent(category, c -> new LongAdder()).add(count);
+            }
+            if (difficulty != null) {
+                fresh.skillsByDifficulty.get(Difficulty.valueOf(difficulty)).add(count);
+            }
+        });
+
+        jdbcTemplate.query("select skill_id, count(*) from user_skills group by skill_id", row -> {
+            fresh.holdersBySkill.computeIfAbsent(row.getLong(1), id -> new LongAdder()).add(row.getLong(2));
+        });
+    }
+
+    /**
+     * Adjusts the Skill counts for a committed Skill change.
+     *
+     * @param event The committed change
+     */
+    @TransactionalEventListener
+    public void onSkillChanged(SkillChangedEvent event) {
+        apply(current -> {
+            if (event.before() != null) {
+                current.addSkill(event.before(), -1);
+            }
+            if (event.after() != null) {
+                current.addSkill(event.after(), 1);
+            }
+            if (event.isDeletion()) {
+                current.holdersBySkill.remove(event.skillId());
+            }
+        });
+    }
+
+    /**
+     * Adjusts the holder counts for a committed change to a User's Skills.
+     *
+     * @param event The committed change
+     */
+    @TransactionalEventListener
+    public void onUserSkillsChanged(UserSkillsChangedEvent event) {
+        apply(current -> {
+            event.added().forEach(skillId -> current.addHolders(skillId, 1));
+            event.removed().forEach(skillId -> current.addHolders(skillId, -1));
+        });
+    }
+
+    /**
+     * Adjusts the holder counts for a committed User deletion.
+     *
+     * @param event The committed deletion
+     */
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        apply(current -> event.skillIds().forEach(skillId -> current.addHolders(skillId, -1)));
+    }
+
+    // Applies a change to the current counters, and buffers it for the new counters while a reconciliation runs
+    // The counters are read under the lock, so a change is applied to the new counters exactly once
+    private void apply(Consumer<Counters> change) {
+        Counters current;
+        synchronized (swapLock) {
+            current = counters;
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        }
+        change.accept(current);
+    }
+
+    private static <K> void putIfPositive(Map<K, Long> map, K key, long value) {
+        if (value > 0) {
+            map.put(key, value);
+        }
+    }
+
+    // One complete set of counters
+    private static final class Counters {
+
+        private final LongAdder totalSkills = new LongAdder();
+        private final Map<String, LongAdder> skillsByCategory = new ConcurrentHashMap<>();
+        private final Map<Difficulty, LongAdder> skillsByDifficulty = new EnumMap<>(Difficulty.class);
+        private final Map<Long, LongAdder> holdersBySkill = new ConcurrentHashMap<>();
+
+        private Counters() {
+            // Every difficulty is present up front, so the map is never modified after construction
+            for (Difficulty difficulty : Difficulty.values()) {
+                skillsByDifficulty.put(difficulty, new LongAdder());
+            }
+        }
+
+        private void addSkill(SkillView skill, int delta) {
+            totalSkills.add(delta);
+            if (skill.category() != null) {
+                skillsByCategory.computeIfAbsent(skill.category(), c -> new LongAdder()).add(delta);
+            }
+            if (skill.difficulty() != null) {
+                skillsByDifficulty.get(skill.difficulty()).add(delta);
+            }
+        }
+
+        private void addHolders(long skillId, int delta) {
+            holdersBySkill.computeIfAbsent(skillId, id -> new LongAdder()).add(delta);
+        }
+
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.brendan.springdock.services;
+
+import java.util.List;
+
+import com.brendan.springdock.dto.EntityVersion;
+import com.brendan.springdock.dto.FieldSelection;
+import com.brendan.springdock.dto.UserVersion;
+
+/**
+ * Builds the opaque values of ETags from entity versions.
+ * 
+ * Every write to a Skill or User increments its version, so an ETag derived from the versions
+ * changes whenever the representation does, and can be computed without loading the entity.
+ * Responses limited to selected fields are different representations, so their ETags carry the selection.
+ * The values are only quoted here, ResponseFormat sends them as weak ETags ('W/' prefix), so clients
+ * and caches must compare them with the weak comparison and not rely on byte-for-byte equality.
+ */
+final class ETags {
+
+    // FNV-1a 64-bit parameters, used to fold the versions of a page into one value
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private ETags() {
+    }
+
+    /**
+     * Builds the ETag of a single Skill.
+     * 
+     * @param id The ID of the Skill
+     * @param version The version of the Skill
+     * @return The quoted ETag
+     */
+    static String skill(long id, long version) {
+        return quote("s" + id + "-" + version);
+    }
+
+    /**
+     * Builds the ETag of a single User, without its Skills.
+     * 
+     * @param id The ID of the User
+     * @param version The version of the User
+     * @return The quoted ETag
+     */
+    static String user(long id, long version) {
+        return quote("u" + id + "-" + version);
+    }
+
+    /**
+     * Builds the ETag of a single User, including the versions of its Skills.
+     * 
+     * @param id The ID of the User
+     * @param version The versions of the User and its Skills
+     * @return The quoted ETag
+     */
+    static String user(long id, UserVersion version) {
+        return quote("u" + id + "-" + version.version() + "-" + version.skillsVersion());
+    }
+
+    /**
+     * Builds the ETag of a page of Skills from the IDs and versions of its items.
+     * 
+     * @param items The IDs and versions of the items on the page, in page order
+     * @param hasMore Whether another page follows, which decides the page's next cursor
+     * @return The quoted ETag
+     */
+    static String skillsPage(List<EntityVersion> items, boolean hasMore) {
+        long hash = FNV_OFFSET_BASIS;
+        for (EntityVersion item : items) {
+            hash = mix(hash, item.id());
+            hash = mix(hash, item.version());
+        }
+        return quote("sp" + items.size() + (hasMore ? "+" : "") + "-" + Long.toHexString(hash));
+    }
+
+    /**
+     * Builds the ETag of a pre-rendered response from its bytes.
+     * 
+     * @param prefix The prefix naming the kind of response
+     * @param content The bytes of the response
+     * @return The quoted ETag
+     */
+    static String content(String prefix, byte[] content) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : content) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return quote(prefix + content.length + "-" + Long.toHexString(hash));
+    }
+
+    /**
+     * Gives the ETag of a complete representation a variant for the selected fields.
+     * 
+     * @param etag The quoted ETag of the complete representation
+     * @param selection The selected fields
+     * @return The ETag unchanged if every field is selected, otherwise the ETag with the selection appended
+     */
+    static String withSelection(String etag, FieldSelection selection) {
+        if (selection.isComplete()) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + ";" + selection.key() + "\"";
+    }
+
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            hash ^= (value >>> shift) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+
+}
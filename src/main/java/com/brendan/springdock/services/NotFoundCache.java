@@ -0,0 +1,190 @@
+package com.brendan.springdock.services;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.brendan.springdock.events.SkillChangedEvent;
+import com.brendan.springdock.events.UserCreatedEvent;
+import com.brendan.springdock.exceptions.ResourceNotFoundException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded cache of Skill and User IDs known not to exist, consulted before the database.
+ * 
+ * Clients repeatedly asking for missing IDs would otherwise cost a query each. An ID is remembered
+ * once a lookup finds nothing, together with the ResourceNotFoundException reporting it, so repeated
+ * lookups are answered by rethrowing the same exception and writing the same error body.
+ * 
+ * IDs are never reused, but a client can ask for an ID before it is assigned, so IDs are forgotten
+ * once the transaction creating their Skill or User has committed. A stamp is taken right before each
+ * query, and a missing ID is only remembered if no creation was committed since, so a query that
+ * raced with a creation is never remembered. Loads shared between callers take the stamp in the
+ * loader, not in each caller, since a caller may join a load that started before the creation. The hit and miss counts are
+ * published as 'cache.*' metrics tagged 'cache=missing-skills' and 'cache=missing-users'.
+ */
+@Component
+public class NotFoundCache implements MeterBinder {
+
+    private final Region skills;
+    private final Region users;
+
+    /**
+     * Creates the cache with the configured bounds, applied to Skills and Users each.
+     * 
+     * @param maximumSize The maximum number of missing IDs remembered per resource
+     * @param expireAfterWrite How long a missing ID is remembered
+     */
+    public NotFoundCache(
+            @Value("${springdock.not-found-cache.maximum-size:20000}") long maximumSize,
+            @Value("${springdock.not-found-cache.expire-after-write:1m}") Duration expireAfterWrite) {
+        this.skills = new Region("Skill", maximumSize, expireAfterWrite);
+        this.users = new Region("User", maximumSize, expireAfterWrite);
+    }
+
+    /**
+     * Returns the missing Skill IDs.
+     * 
+     * @return The region of missing Skills
+     */
+    public Region skills() {
+        return skills;
+    }
+
+    /**
+     * Returns the missing User IDs.
+     * 
+     * @return The region of missing Users
+     */
+    public Region users() {
+        return users;
+    }
+
+    /**
+     * Forgets the ID of a created Skill once its creation has committed.
+     * 
+     * @param event The committed Skill change
+     */
+    @TransactionalEventListener
+    public void onSkillChanged(SkillChangedEvent event) {
+        if (event.before() == null) {
+            skills.invalidate(event.skillId());
+        }
+    }
+
+    /**
+     * Forgets the IDs of created Users once their creation has committed.
+     * 
+     * @param event The committed creation
+     */
+    @TransactionalEventListener
+    public void onUsersCreated(UserCreatedEvent event) {
+        event.userIds().forEach(users::invalidate);
+    }
+
+    /**
+     * Registers the cache metrics, called by Spring Boot for every MeterBinder bean.
+     * 
+     * @param registry The registry to publish the metrics to
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, skills.cache, "missing-skills");
+        CaffeineCacheMetrics.monitor(registry, users.cache, "missing-users");
+    }
+
+    /**
+     * The missing IDs of one kind of resource.
+     */
+    public static final class Region {
+
+        private final String resource;
+        private final Cache<Long, ResourceNotFoundException> cache;
+
+        // Incremented before every invalidation, so a lookup can tell whether one happened while it ran
+        private final AtomicLong invalidations = new AtomicLong();
+
+        private Region(String resource, long maximumSize, Duration expireAfterWrite) {
+            this.resource = resource;
+            this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        }
+
+        /**
+         * Throws the remembered exception if the ID is known to be missing.
+         * 
+         * @param id The ID being looked up
+         * @throws ResourceNotFoundException if the ID is known to be missing
+         */
+        public void check(long id) {
+            ResourceNotFoundException notFound = cache.getIfPresent(id);
+            if (notFound != null) {
+                throw notFound;
+            }
+        }
+
+        /**
+         * Returns a stamp to take before looking an ID up in the database, and to pass to 'notFound' if it is missing.
+         * 
+         * @return The current stamp
+         */
+        public long stamp() {
+            return invalidations.get();
+        }
+
+        /**
+         * Remembers an ID the database did not find, unless it may have been created while the lookup ran.
+         * 
+         * @param id The missing ID
+         * @param stamp The stamp taken before the query
+         */
+        public void record(long id, long stamp) {
+            cache.put(id, new ResourceNotFoundException(resource + " not found with id: " + id));
+            // Checked after the put, so an invalidation racing with it removes the entry either way
+            if (invalidations.get() != stamp) {
+                cache.invalidate(id);
+            }
+        }
+
+        /**
+         * Returns the exception reporting a missing ID, the remembered one if the ID was recorded.
+         * 
+         * @param id The missing ID
+         * @return The exception to be thrown by the caller
+         */
+        public ResourceNotFoundException notFound(long id) {
+            ResourceNotFoundException notFound = cache.getIfPresent(id);
+            return notFound != null ? notFound : new ResourceNotFoundException(resource + " not found with id: " + id);
+        }
+
+        /**
+         * Remembers an ID the caller's own query did not find, and returns the exception reporting it.
+         * 
+         * @param id The missing ID
+         * @param stamp The stamp taken before the query
+         * @return The exception to be thrown by the caller
+         */
+        public ResourceNotFoundException notFound(long id, long stamp) {
+            record(id, stamp);
+            return notFound(id);
+        }
+
+        private void invalidate(long id) {
+            invalidations.incrementAndGet();
+            cache.invalidate(id);
+        }
+
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.brendan.springdock.services;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Shares one in-flight load between concurrent callers asking for the same key.
+ *
+ * The first caller for a key runs the load on its own thread, and callers arriving while it runs
+ * wait for its result instead of loading again. Once the load finishes the key is released, so
+ * the next caller starts a fresh load. Results are not cached.
+ *
+ * A caller joining a load gets the state the load read, which may predate a write committed after
+ * the load started. Writers call 'forget' after committing, so reads issued after a write never join
+ * a load that started before it.
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the loaded values
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Loads the value of a key, or waits for the load already in flight for it.
+     *
+     * @param key The key to load
+     * @param loader Loads the value on the calling thread when no load is in flight
+     * @return The loaded value, may be null if the loader returns null
+     * @throws RuntimeException the exception the load failed with, rethrown to every caller sharing it
+     */
+    V load(K key, Function<K, V> loader) {
+        CompletableFuture<V> created = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            return BatchLoader.join(existing);
+        }
+
+        try {
+            V value = loader.apply(key);
+            created.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            created.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    /**
+     * Detaches the load in flight for a key, so later callers start a new one.
+     * Callers already waiting still receive its result.
+     *
+     * @param key The key whose value changed
+     */
+    void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    /**
+     * Detaches every load in flight.
+     */
+    void forgetAll() {
+        inFlight.clear();
+    }
+
+}
@@ -0,0 +1,171 @@
+package com.brendan.springdock.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.brendan.springdock.dto.CacheStatsDTO;
+import com.brendan.springdock.dto.SkillView;
+import com.brendan.springdock.events.SkillChangedEvent;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded in-process read-through cache of Skills, keyed by Skill ID.
+ * 
+ * Skills are read far more often than they are written, so SkillService answers reads from
+ * this cache and only queries the database for the IDs that miss. Entries are evicted when the
+ * cache grows past its maximum size or once they reach their time-to-live, and are invalidated
+ * once a transaction that creates, updates or deletes a Skill has committed.
+ * 
+ * Skills are cached as immutable SkillView records rather than entities, so they can be shared
+ * between requests and threads without being attached to any persistence context.
+ * 
+ * Loads run on the calling thread, outside of the cache's locks: the cache holds a pending future
+ * for each loading ID, which concurrent readers of that ID wait for. Invalidating an ID while it
+ * is loading removes the pending entry, so a load that read the old state is never cached.
+ * The hit, miss and eviction counts are also published as 'cache.*' metrics tagged 'cache=skills'.
+ */
+@Component
+public class SkillCache implements MeterBinder {
+
+    private final AsyncCache<Long, SkillView> cache;
+
+    /**
+     * Creates the cache with the configured bounds.
+     * 
+     * @param maximumSize The maximum number of Skills kept in the cache
+     * @param expireAfterWrite How long a Skill stays in the cache after it was loaded
+     */
+    public SkillCache(
+            @Value("${springdock.skill-cache.maximum-size:10000}") long maximumSize,
+            @Value("${springdock.skill-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .buildAsync();
+    }
+
+    /**
+     * Returns the cached Skill, loading and caching it on a miss.
+     * 
+     * The load runs on the calling thread. Callers asking for a Skill that is already loading wait for that load.
+     * 
+     * @param id The ID of the Skill
+     * @param loader Loads the Skill from the database, returning null if it does not exist
+     * @return The Skill, or null if it does not exist
+     */
+    public SkillView get(long id, Function<Long, SkillView> loader) {
+        CompletableFuture<SkillView> created = new CompletableFuture<>();
+        CompletableFuture<SkillView> pending = cache.get(id, (key, executor) -> created);
+        if (pending == created) {
+            try {
+                created.complete(loader.apply(id));
+            } catch (RuntimeException | Error ex) {
+                created.completeExceptionally(ex);
+            }
+        }
+        return BatchLoader.join(pending);
+    }
+
+    /**
+     * Returns the cached Skill without loading it on a miss.
+     * 
+     * @param id The ID of the Skill
+     * @return The cached Skill, or null if it is not cached or still loading
+     */
+    public SkillView getIfPresent(long id) {
+        CompletableFuture<SkillView> pending = cache.getIfPresent(id);
+        if (pending == null || !pending.isDone() || pending.isCompletedExceptionally()) {
+            return null;
+        }
+        return pending.join();
+    }
+
+    /**
+     * Returns the cached Skills for the given IDs, loading all misses with a single call on the calling thread.
+     * 
+     * @param ids The IDs of the Skills
+     * @param loader Loads the Skills for the missing IDs from the database, keyed by ID
+     * @return The Skills that exist, keyed by ID
+     */
+    public Map<Long, SkillView> getAll(Collection<Long> ids, Function<Set<? extends Long>, Map<Long, SkillView>> loader) {
+        CompletableFuture<Map<Long, SkillView>> created = new CompletableFuture<>();
+        List<Set<? extends Long>> missing = new ArrayList<>(1);
+        CompletableFuture<Map<Long, SkillView>> pending = cache.getAll(ids, (keys, executor) -> {
+            missing.add(keys);
+            return created;
+        });
+        if (!missing.isEmpty()) {
+            try {
+                created.complete(loader.apply(missing.get(0)));
+            } catch (RuntimeException | Error ex) {
+                created.completeExceptionally(ex);
+            }
+        }
+        return BatchLoader.join(pending);
+    }
+
+    /**
+     * Removes a Skill from the cache, so the next read loads it from the database.
+     * A load of the Skill that is still running is not cached.
+     * 
+     * @param id The ID of the Skill
+     */
+    public void invalidate(long id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    /**
+     * Invalidates a changed Skill once the change has committed, so the cache cannot be
+     * refilled with the old state while the change is still in flight.
+     * 
+     * @param event The committed Skill change
+     */
+    @TransactionalEventListener
+    public void onSkillChanged(SkillChangedEvent event) {
+        invalidate(event.skillId());
+    }
+
+    /**
+     * Registers the cache metrics, called by Spring Boot for every MeterBinder bean.
+     * 
+     * @param registry The registry to publish the metrics to
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), "skills");
+    }
+
+    /**
+     * Returns a snapshot of the cache statistics.
+     * 
+     * @return The size, hit, miss and eviction counts of the cache
+     */
+    public CacheStatsDTO stats() {
+        CacheStats stats = cache.synchronous().stats();
+        return new CacheStatsDTO(
+            cache.synchronous().estimatedSize(),
+            stats.hitCount(),
+            stats.missCount(),
+            stats.evictionCount(),
+            stats.hitRate()
+        );
+    }
+    
+}
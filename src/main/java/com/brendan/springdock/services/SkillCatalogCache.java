@@ -0,0 +1,152 @@
+package com.brendan.springdock.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.brendan.springdock.dto.RenderedCatalog;
+import com.brendan.springdock.dto.SkillView;
+import com.brendan.springdock.events.SkillChangedEvent;
+import com.brendan.springdock.repository.SkillRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Keeps the Skill catalog serialized, as a whole and per category, ready to be written to responses.
+ *
+ * The catalog changes rarely compared to how often it is read, so it is rendered to JSON and gzip
+ * once per change rather than once per request. Every committed Skill change schedules a rebuild on
+ * the application's task executor. Changes committed while a rebuild is queued are picked up by it,
+ * so a burst of changes, such as a bulk create, causes a single rebuild. Reads keep getting the
+ * previous rendering until the new one is swapped in.
+ */
+@Component
+public class SkillCatalogCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillCatalogCache.class);
+
+    private final SkillRepository skillRepository;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor taskExecutor;
+
+    // Set while a rebuild is queued and has not started reading the Skills yet
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean();
+
+    // The current rendering, replaced as a whole by each rebuild
+    private volatile Catalog catalog;
+
+    public SkillCatalogCache(
+            SkillRepository skillRepository,
+            ObjectMapper objectMapper,
+            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.skillRepository = skillRepository;
+        this.objectMapper = objectMapper;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Returns the rendered Skills of the catalog.
+     *
+     * @param category The category to return the Skills of, or null for every Skill
+     * @return The rendered Skills, an empty array if no Skill has the category
+     */
+    public RenderedCatalog get(String category) {
+        Catalog current = catalog;
+        if (current == null) {
+            current = initialize();
+        }
+        if (category == null) {
+            return current.all();
+        }
+        return current.byCategory().getOrDefault(category, current.empty());
+    }
+
+    /**
+     * Renders the catalog once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    /**
+     * Schedules a rebuild for a committed Skill change, unless one is already queued.
+     *
+     * @param event The committed change
+     */
+    @TransactionalEventListener
+    public void onSkillChanged(SkillChangedEvent event) {
+        if (rebuildQueued.compareAndSet(false, true)) {
+            taskExecutor.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException ex) {
+                    // The previous rendering stays in place until the next change triggers another rebuild
+                    log.error("Failed to rebuild the skill catalog", ex);
+                }
+            });
+        }
+    }
+
+    // Renders the catalog for a request arriving before the first build has finished
+    private synchronized Catalog initialize() {
+        if (catalog == null) {
+            rebuild();
+        }
+        return catalog;
+    }
+
+    // Reads every Skill and swaps in a new rendering, rebuilds run one at a time so an older one never replaces a newer one
+    private synchronized void rebuild() {
+        // Cleared before reading, so a change committed from here on queues another rebuild
+        rebuildQueued.set(false);
+        long start = System.nanoTime();
+
+        List<SkillView> skills = skillRepository.findAllViews();
+        Map<String, List<SkillView>> skillsByCategory = new HashMap<>();
+        for (SkillView skill : skills) {
+            if (skill.category() != null) {
+                skillsByCategory.computeIfAbsent(skill.category(), category -> new ArrayList<>()).add(skill);
+            }
+        }
+
+        Map<String, RenderedCatalog> byCategory = new HashMap<>(skillsByCategory.size() * 2);
+        skillsByCategory.forEach((category, categorySkills) -> byCategory.put(category, render(categorySkills)));
+        catalog = new Catalog(render(skills), byCategory, render(List.of()));
+
+        log.debug("Rendered skill catalog of {} skills in {} categories in {} ms",
+            skills.size(), byCategory.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private RenderedCatalog render(List<SkillView> skills) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(skills);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+                out.write(json);
+            }
+            return new RenderedCatalog(json, compressed.toByteArray(), ETags.content("c", json));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // One complete rendering of the catalog
+    private record Catalog(RenderedCatalog all, Map<String, RenderedCatalog> byCategory, RenderedCatalog empty) {
+    }
+
+}
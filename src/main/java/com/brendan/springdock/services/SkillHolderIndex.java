@@ -0,0 +1,322 @@
+package com.brendan.springdock.services;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.brendan.springdock.dto.CursorPage;
+import com.brendan.springdock.dto.SkillMatchResult;
+import com.brendan.springdock.events.SkillChangedEvent;
+import com.brendan.springdock.events.UserDeletedEvent;
+import com.brendan.springdock.events.UserSkillsChangedEvent;
+
+/**
+ * In-memory inverted index from Skill ID to the set of Users holding that Skill.
+ *
+ * Each Skill maps to a compressed RoaringBitmap of User IDs, so set-algebra queries such as
+ * "users with all of A, B and C but not D" are answered by intersecting, unioning and subtracting
+ * bitmaps, without touching the database or allocating an object per User.
+ *
+ * The index is built from the 'user_skills' table once the application is ready, and kept up to
+ * date by the events UserService and SkillService publish after their transactions commit.
+ * Until the build has finished, 'isReady()' returns false and callers fall back to SQL.
+ *
+ * User IDs are stored as 32-bit integers, which covers IDs up to Integer.MAX_VALUE.
+ */
+@Component
+public class SkillHolderIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillHolderIndex.class);
+
+    // Number of rows read per round trip while building the index
+    private static final int BUILD_FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Bitmaps of User IDs keyed by Skill ID, replaced as a whole by the build, guarded by 'lock'
+    private Map<Long, RoaringBitmap> holders = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Changes committed while the build is reading the table, to be replayed on its bitmaps, guarded by 'lock'
+    private List<Consumer<Map<Long, RoaringBitmap>>> pendingChanges;
+
+    private volatile boolean ready;
+
+    public SkillHolderIndex(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Builds the index from the 'user_skills' table.
+     *
+     * Runs once the application is ready, when requests may already be arriving. The table is read into
+     * new bitmaps without holding the lock, so listeners are not blocked for the whole scan. Changes
+     * committed meanwhile are buffered, and replayed on the new bitmaps when they are swapped in under
+     * the write lock. Adding or removing a holder is idempotent, so replaying a change the scan already
+     * saw leaves the bitmaps unchanged, and no change is lost.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Map<Long, RoaringBitmap> built = new HashMap<>();
+        try {
+            // Read inside a transaction so the driver streams rows with the fetch size instead of buffering them all
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement statement = connection.prepareStatement("select skill_id, user_id from user_skills");
+                    statement.setFetchSize(BUILD_FETCH_SIZE);
+                    return statement;
+                },
+                row -> {
+                    bitmapFor(built, row.getLong(1)).add(toIntId(row.getLong(2)));
+                }
+            ));
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+
+        int skillCount;
+        lock.writeLock().lock();
+        try {
+            pendingChanges.forEach(change -> change.accept(built));
+            pendingChanges = null;
+            built.values().forEach(RoaringBitmap::runOptimize);
+            holders = built;
+            skillCount = built.size();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Built skill holder index for {} skills in {} ms", skillCount, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Returns whether the index has been built and can answer queries.
+     *
+     * @return true once the initial build has finished
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Finds the Users matching a combination of Skills.
+     *
+     * The result is the Users holding every Skill in 'all' (if given), intersected with the Users
+     * holding at least one Skill in 'any' (if given), minus the Users holding any Skill in 'none'.
+     * At least one of 'all' or 'any' must be non-empty.
+     *
+     * @param all The Skills a User must all have, may be empty
+     * @param any The Skills of which a User must have at least one, may be empty
+     * @param none The Skills a User must not have, may be empty
+     * @param afterUserId The User ID to continue after
+     * @param limit The maximum number of User IDs to return
+     * @return The total number of matching Users and one page of their IDs
+     */
+    public SkillMatchResult match(Collection<Long> all, Collection<Long> any, Collection<Long> none, long afterUserId, int limit) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = evaluate(all, any, none);
+            return page(result, afterUserId, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns one page of the IDs of the Users matching a combination of Skills.
+     *
+     * @param all The Skills a User must all have, may be empty
+     * @param any The Skills of which a User must have at least one, may be empty
+     * @param afterUserId The User ID to continue after
+     * @param limit The maximum number of User IDs to return
+     * @return The IDs of the matching Users in ascending order
+     */
+    public List<Long> matchUserIds(Collection<Long> all, Collection<Long> any, long afterUserId, int limit) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap result = evaluate(all, any, List.of());
+            long[] ids = collect(result, afterUserId, limit);
+            List<Long> userIds = new ArrayList<>(ids.length);
+            for (long id : ids) {
+                userIds.add(id);
+            }
+            return userIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a change to a User's Skills once it has been committed.
+     *
+     * @param event The committed change
+     */
+    @TransactionalEventListener
+    public void onUserSkillsChanged(UserSkillsChangedEvent event) {
+        int userId = toIntId(event.userId());
+        apply(bitmaps -> {
+            for (Long skillId : event.added()) {
+                bitmapFor(bitmaps, skillId).add(userId);
+            }
+            for (Long skillId : event.removed()) {
+                removeHolder(bitmaps, skillId, userId);
+            }
+        });
+    }
+
+    /**
+     * Removes a deleted User from the bitmaps of the Skills it had.
+     *
+     * @param event The committed deletion
+     */
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        int userId = toIntId(event.userId());
+        apply(bitmaps -> {
+            for (Long skillId : event.skillIds()) {
+                removeHolder(bitmaps, skillId, userId);
+            }
+        });
+    }
+
+    /**
+     * Drops the bitmap of a deleted Skill.
+     *
+     * @param event The committed Skill change
+     */
+    @TransactionalEventListener
+    public void onSkillChanged(SkillChangedEvent event) {
+        if (!event.isDeletion()) {
+            return;
+        }
+        apply(bitmaps -> bitmaps.remove(event.skillId()));
+    }
+
+    // Applies a change to the bitmaps, and buffers it for the bitmaps being built while a build runs
+    private void apply(Consumer<Map<Long, RoaringBitmap>> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(holders);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Combines the bitmaps of the requested Skills, must be called while holding the read lock
+    private RoaringBitmap evaluate(Collection<Long> all, Collection<Long> any, Collection<Long> none) {
+        RoaringBitmap result;
+        if (!all.isEmpty()) {
+            result = FastAggregation.and(bitmapsOf(all));
+            if (!any.isEmpty()) {
+                result.and(FastAggregation.or(bitmapsOf(any)));
+            }
+        } else {
+            result = FastAggregation.or(bitmapsOf(any));
+        }
+        if (!none.isEmpty() && !result.isEmpty()) {
+            result.andNot(FastAggregation.or(bitmapsOf(none)));
+        }
+        return result;
+    }
+
+    // Reads one page of IDs from a result bitmap
+    private SkillMatchResult page(RoaringBitmap result, long afterUserId, int limit) {
+        long[] ids = collect(result, afterUserId, limit + 1);
+        if (ids.length <= limit) {
+            return new SkillMatchResult(result.getLongCardinality(), ids, null);
+        }
+        long[] pageIds = new long[limit];
+        System.arraycopy(ids, 0, pageIds, 0, limit);
+        return new SkillMatchResult(result.getLongCardinality(), pageIds, CursorPage.encodeCursor(pageIds[limit - 1]));
+    }
+
+    // Collects up to 'limit' IDs greater than 'afterUserId' from a bitmap, in ascending order
+    private long[] collect(RoaringBitmap result, long afterUserId, int limit) {
+        if (afterUserId >= Integer.MAX_VALUE) {
+            return new long[0];
+        }
+        long[] ids = new long[(int) Math.min(limit, result.getLongCardinality())];
+        PeekableIntIterator iterator = result.getIntIterator();
+        iterator.advanceIfNeeded((int) afterUserId + 1);
+        int count = 0;
+        while (count < ids.length && iterator.hasNext()) {
+            ids[count++] = iterator.next();
+        }
+        if (count == ids.length) {
+            return ids;
+        }
+        long[] trimmed = new long[count];
+        System.arraycopy(ids, 0, trimmed, 0, count);
+        return trimmed;
+    }
+
+    // Returns the bitmaps of the given Skills, using an empty bitmap for Skills without holders
+    private RoaringBitmap[] bitmapsOf(Collection<Long> skillIds) {
+        RoaringBitmap[] bitmaps = new RoaringBitmap[skillIds.size()];
+        int i = 0;
+        for (Long skillId : skillIds) {
+            RoaringBitmap bitmap = holders.get(skillId);
+            bitmaps[i++] = bitmap != null ? bitmap : new RoaringBitmap();
+        }
+        return bitmaps;
+    }
+
+    // Returns the bitmap of a Skill, creating it if needed, must be called while holding the write lock on shared bitmaps
+    private static RoaringBitmap bitmapFor(Map<Long, RoaringBitmap> bitmaps, long skillId) {
+        return bitmaps.computeIfAbsent(skillId, id -> new RoaringBitmap());
+    }
+
+    // Removes a User from a Skill's bitmap, must be called while holding the write lock on shared bitmaps
+    private static void removeHolder(Map<Long, RoaringBitmap> bitmaps, long skillId, int userId) {
+        RoaringBitmap bitmap = bitmaps.get(skillId);
+        if (bitmap != null) {
+            bitmap.remove(userId);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(skillId);
+            }
+        }
+    }
+
+    private static int toIntId(long userId) {
+        return Math.toIntExact(userId);
+    }
+
+}
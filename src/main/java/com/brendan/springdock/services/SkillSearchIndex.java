@@ -0,0 +1,253 @@
+package com.brendan.springdock.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.brendan.springdock.dto.SkillSearchHit;
+import com.brendan.springdock.dto.SkillSearchResult;
+import com.brendan.springdock.dto.SkillView;
+import com.brendan.springdock.events.SkillChangedEvent;
+import com.brendan.springdock.repository.SkillRepository;
+
+/**
+ * In-memory inverted index over the name, description and category of every Skill.
+ *
+ * Each field is split into lowercase tokens, and each token maps to the Skills containing it along
+ * with a weight for the fields it appears in. Tokens are kept sorted, so a query token matches every
+ * indexed token it is a prefix of with a single range scan, which is what makes type-ahead search cheap.
+ *
+ * Results are ranked by the sum, over the query tokens, of the best field weight each Skill matched
+ * with, where an exact token match counts double a prefix match. A Skill must match every query token.
+ *
+ * The index is built from the database once the application is ready, and kept up to date by the
+ * events SkillService publishes after its transactions commit. Listeners of concurrent transactions
+ * may run in a different order than the commits, and nothing rebuilds the index later, so a change is
+ * only applied if it is newer than the indexed version, and a deleted Skill is never indexed again.
+ */
+@Component
+public class SkillSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillSearchIndex.class);
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Field weights, a match in the name ranks above a match in the category or description
+    // Each weight is a distinct bit, so a token found in several fields gets the sum of their weights
+    private static final int NAME_WEIGHT = 4;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    // Largest number of tokens considered in a query
+    private static final int MAX_QUERY_TOKENS = 8;
+
+    private final SkillRepository skillRepository;
+
+    // Token -> (Skill ID -> combined weight of the fields containing the token), guarded by 'lock'
+    private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+
+    // Indexed Skills by ID, used to return results and to remove old tokens on update, guarded by 'lock'
+    private final Map<Long, SkillView> skills = new HashMap<>();
+
+    // IDs of deleted Skills, guarded by 'lock'
+    // IDs are never reused, so a late event for one of them is stale and is ignored
+    private final Set<Long> deleted = new HashSet<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean ready;
+
+    public SkillSearchIndex(SkillRepository skillRepository) {
+        this.skillRepository = skillRepository;
+    }
+
+    /**
+     * Builds the index from every Skill in the database.
+     *
+     * Runs once the application is ready. Changes committed while the build is running wait for it
+     * to finish and are then applied on top if they are newer than what the build read, so no change
+     * is lost or applied twice.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.nanoTime();
+        int skillCount;
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            skills.clear();
+            for (SkillView skill : skillRepository.findAllViews()) {
+                if (!deleted.contains(skill.id())) {
+                    add(skill);
+                }
+            }
+            skillCount = skills.size();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Built skill search index for {} skills in {} ms", skillCount, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Returns whether the index has been built and can answer queries.
+     *
+     * @return true once the initial build has finished
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Searches the Skills for the given query, treating every query token as a prefix.
+     *
+     * @param query The search query, for example "jav spr"
+     * @param offset The number of ranked results to skip
+     * @param limit The maximum number of results to return
+     * @return The total number of matching Skills and the requested slice of ranked results
+     */
+    public SkillSearchResult search(String query, int offset, int limit) {
+        List<String> queryTokens = tokenize(query).stream().distinct().limit(MAX_QUERY_TOKENS).toList();
+        if (queryTokens.isEmpty()) {
+            return new SkillSearchResult(0, List.of());
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> scores = null;
+            for (String queryToken : queryTokens) {
+                scores = scoreToken(queryToken, scores);
+                if (scores.isEmpty()) {
+                    return new SkillSearchResult(0, List.of());
+                }
+            }
+
+            List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Long, Integer>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()));
+
+            List<SkillSearchHit> hits = new ArrayList<>(Math.min(limit, ranked.size()));
+            for (int i = offset; i < ranked.size() && hits.size() < limit; i++) {
+                Map.Entry<Long, Integer> entry = ranked.get(i);
+                hits.add(new SkillSearchHit(skills.get(entry.getKey()), entry.getValue()));
+            }
+            return new SkillSearchResult(ranked.size(), hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a committed Skill change to the index, unless the index already has the same or a newer
+     * version of the Skill, or the Skill was deleted.
+     *
+     * @param event The committed change
+     */
+    @TransactionalEventListener
+    public void onSkillChanged(SkillChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.isDeletion()) {
+                deleted.add(event.skillId());
+                remove(event.skillId());
+                return;
+            }
+            SkillView indexed = skills.get(event.skillId());
+            if (deleted.contains(event.skillId()) || (indexed != null && indexed.version() >= event.after().version())) {
+                return;
+            }
+            remove(event.skillId());
+            add(event.after());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Scores the Skills matching one query token, restricted to the candidates matched by previous tokens
+    private Map<Long, Integer> scoreToken(String queryToken, Map<Long, Integer> candidates) {
+        Map<Long, Integer> best = new HashMap<>();
+        NavigableMap<String, Map<Long, Integer>> matches = postings.subMap(queryToken, true, queryToken + Character.MAX_VALUE, false);
+        for (Map.Entry<String, Map<Long, Integer>> match : matches.entrySet()) {
+            int multiplier = match.getKey().equals(queryToken) ? 2 : 1;
+            for (Map.Entry<Long, Integer> posting : match.getValue().entrySet()) {
+                Long skillId = posting.getKey();
+                if (candidates != null && !candidates.containsKey(skillId)) {
+                    continue;
+                }
+                best.merge(skillId, posting.getValue() * multiplier, Math::max);
+            }
+        }
+        if (candidates != null) {
+            best.replaceAll((skillId, score) -> score + candidates.get(skillId));
+        }
+        return best;
+    }
+
+    // Adds a Skill to the index, must be called while holding the write lock
+    private void add(SkillView skill) {
+        skills.put(skill.id(), skill);
+        Map<String, Integer> weights = new HashMap<>();
+        addTokens(weights, skill.name(), NAME_WEIGHT);
+        addTokens(weights, skill.category(), CATEGORY_WEIGHT);
+        addTokens(weights, skill.description(), DESCRIPTION_WEIGHT);
+        weights.forEach((token, weight) -> postings.computeIfAbsent(token, t -> new HashMap<>()).put(skill.id(), weight));
+    }
+
+    // Removes a Skill from the index, must be called while holding the write lock
+    private void remove(long skillId) {
+        SkillView previous = skills.remove(skillId);
+        if (previous == null) {
+            return;
+        }
+        Set<String> tokens = new HashSet<>();
+        tokens.addAll(tokenize(previous.name()));
+        tokens.addAll(tokenize(previous.category()));
+        tokens.addAll(tokenize(previous.description()));
+        for (String token : tokens) {
+            Map<Long, Integer> tokenPostings = postings.get(token);
+            if (tokenPostings != null) {
+                tokenPostings.remove(skillId);
+                if (tokenPostings.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    // Combines the weight of a field into the weight of each of its tokens
+    private static void addTokens(Map<String, Integer> weights, String text, int weight) {
+        for (String token : tokenize(text)) {
+            weights.merge(token, weight, (a, b) -> a | b);
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+}
@@ -1,14 +1,45 @@
 package com.brendan.springdock.services;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.brendan.springdock.dto.BulkCreateResult;
+import com.brendan.springdock.dto.CacheStatsDTO;
+import com.brendan.springdock.dto.CatalogStatsDTO;
+import com.brendan.springdock.dto.CursorPage;
+import com.brendan.springdock.dto.EntityVersion;
+import com.brendan.springdock.dto.FieldSelection;
+import com.brendan.springdock.dto.RenderedCatalog;
+import com.brendan.springdock.dto.SkillDTO;
+import com.brendan.springdock.dto.SkillSearchResult;
+import com.brendan.springdock.dto.SkillView;
+import com.brendan.springdock.events.SkillChangedEvent;
 import com.brendan.springdock.exceptions.BadRequestException;
+import com.brendan.springdock.exceptions.BulkValidationException;
+import com.brendan.springdock.exceptions.ConflictException;
 import com.brendan.springdock.exceptions.ResourceNotFoundException;
+import com.brendan.springdock.exceptions.ServiceUnavailableException;
 import com.brendan.springdock.models.Skill;
 import com.brendan.springdock.models.Skill.Difficulty;
+import com.brendan.springdock.repository.FieldProjectionRepository;
 import com.brendan.springdock.repository.SkillRepository;
+import com.brendan.springdock.repository.UserSkillRepository;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 
 /**
  * Defines the Service layer for Skill-related operations.
@@ -17,19 +48,95 @@ import com.brendan.springdock.repository.SkillRepository;
  * handling business logic and data manipulation for Skill entities.
  */
 @Service
+@Timed(value = "springdock.service", description = "Time spent in public service methods")
 public class SkillService {
 
     // Repository for performing database operations on Skill entities
     private final SkillRepository skillRepository;
 
+    // Repository for set-based operations on the 'user_skills' join table
+    private final UserSkillRepository userSkillRepository;
+
+    // Reads only the fields a client selected
+    private final FieldProjectionRepository fieldProjectionRepository;
+
+    // Used to flush and clear the persistence context between bulk insert batches
+    private final EntityManager entityManager;
+
+    // Validates the items of bulk create requests
+    private final BulkRequestValidator bulkRequestValidator;
+
+    // Read-through cache answering Skill lookups by ID
+    private final SkillCache skillCache;
+
+    // In-memory full-text index of the Skill catalog
+    private final SkillSearchIndex skillSearchIndex;
+
+    // Incrementally maintained catalog statistics
+    private final CatalogStatistics catalogStatistics;
+
+    // The catalog rendered to JSON, rebuilt after every change
+    private final SkillCatalogCache skillCatalogCache;
+
+    // Publishes Skill changes to listeners such as the skill holder index
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Number of Skills written per JDBC batch, matches Hibernate's configured batch size
+    private final int batchSize;
+
+    // Merges concurrent cache misses for different Skills into one query
+    private final BatchLoader<Long, SkillView> skillBatches;
+
+    // Skill IDs known not to exist, checked before the cache and the database
+    private final NotFoundCache.Region missingSkills;
+
     /**
      * Constructor-based dependency injection for the SkillRepository.
      * Spring automatically injects the repository instance when creating this service.
      * 
      * @param skillRepository the SkillRepository to be injected
+     * @param userSkillRepository the UserSkillRepository to be injected
+     * @param fieldProjectionRepository the FieldProjectionRepository to be injected
+     * @param entityManager the shared EntityManager to be injected
+     * @param bulkRequestValidator the validator for bulk create requests
+     * @param skillCache the cache of Skills by ID
+     * @param skillSearchIndex the search index of the Skill catalog
+     * @param catalogStatistics the catalog statistics counters
+     * @param skillCatalogCache the rendered Skill catalog
+     * @param notFoundCache the cache of missing Skill and User IDs
+     * @param eventPublisher the publisher for Skill change events
+     * @param batchSize the JDBC batch size configured for Hibernate
+     * @param batchWindow the longest time a Skill cache miss queued behind a running load waits for it
+     * @param maxBatchSize the largest number of Skills loaded by one query
      */
-    public SkillService(SkillRepository skillRepository) {
+    public SkillService(
+            SkillRepository skillRepository,
+            UserSkillRepository userSkillRepository,
+            FieldProjectionRepository fieldProjectionRepository,
+            EntityManager entityManager,
+            BulkRequestValidator bulkRequestValidator,
+            SkillCache skillCache,
+            SkillSearchIndex skillSearchIndex,
+            CatalogStatistics catalogStatistics,
+            SkillCatalogCache skillCatalogCache,
+            NotFoundCache notFoundCache,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}") int batchSize,
+            @Value("${springdock.coalescing.batch-window:2ms}") Duration batchWindow,
+            @Value("${springdock.coalescing.max-batch-size:100}") int maxBatchSize) {
         this.skillRepository = skillRepository;
+        this.userSkillRepository = userSkillRepository;
+        this.fieldProjectionRepository = fieldProjectionRepository;
+        this.entityManager = entityManager;
+        this.bulkRequestValidator = bulkRequestValidator;
+        this.skillCache = skillCache;
+        this.skillSearchIndex = skillSearchIndex;
+        this.catalogStatistics = catalogStatistics;
+        this.skillCatalogCache = skillCatalogCache;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.skillBatches = new BatchLoader<>(this::loadSkillViews, batchWindow, maxBatchSize);
+        this.missingSkills = notFoundCache.skills();
     }
 
     /**
@@ -39,43 +146,255 @@ public class SkillService {
      * @param description The description of the skill
      * @param category The category of the skill
      * @param difficulty The difficulty level of the skill
-     * @return The saved Skill entity
+     * @return The read model of the saved Skill
      * @throws BadRequestException if any of the provided fields are invalid or missing
      */
-    public Skill createSkill(String name, String description, String category, Difficulty difficulty) {
+    @Transactional
+    public SkillView createSkill(String name, String description, String category, Difficulty difficulty) {
         Skill skill = new Skill(name, description, category, difficulty);
-        return skillRepository.save(skill);
+        SkillView savedSkill = SkillView.from(skillRepository.save(skill));
+        eventPublisher.publishEvent(SkillChangedEvent.created(savedSkill));
+        return savedSkill;
     }
 
     /**
-     * Retrieves all Skills from the database.
+     * Creates many Skills in a single transaction using JDBC batching.
      * 
-     * @return A list of all Skill entities
+     * Every item is validated before anything is written, and all invalid items are reported together.
+     * Skills are inserted in batches of the configured JDBC batch size, and the persistence context is
+     * cleared after each batch so memory use does not grow with the size of the request.
+     * 
+     * @param skillDTOs The Skills to create
+     * @return The number of created Skills and their IDs, in request order
+     * @throws BadRequestException if the request is empty or too large
+     * @throws BulkValidationException if one or more items are invalid
+     */
+    @Transactional
+    public BulkCreateResult createSkills(List<SkillDTO> skillDTOs) {
+        bulkRequestValidator.validate(skillDTOs);
+
+        List<Long> ids = new ArrayList<>(skillDTOs.size());
+        for (int start = 0; start < skillDTOs.size(); start += batchSize) {
+            List<Skill> batch = skillDTOs.subList(start, Math.min(start + batchSize, skillDTOs.size())).stream()
+                .map(dto -> new Skill(dto.getName(), dto.getDescription(), dto.getCategory(), dto.getDifficulty()))
+                .toList();
+
+            skillRepository.saveAll(batch);
+            entityManager.flush();
+            entityManager.clear();
+
+            for (Skill skill : batch) {
+                ids.add(skill.getId());
+                eventPublisher.publishEvent(SkillChangedEvent.created(SkillView.from(skill)));
+            }
+        }
+        return new BulkCreateResult(ids.size(), ids);
+    }
+
+    /**
+     * Retrieves a single page of Skills, ordered by ID.
+     * 
+     * The page is read with an 'id > ?' query on the primary key, so the cost of a page
+     * does not depend on how deep the client has paged. Rows are read into read models.
+     * 
+     * @param after The cursor returned with the previous page, or null for the first page
+     * @param limit The maximum number of Skills to return, or null for the default page size
+     * @return The page of Skills and the cursor for the next page
+     * @throws BadRequestException if the cursor or limit is invalid
      */
-    public List<Skill> getAllSkills() { 
-        return skillRepository.findAll();
+    public CursorPage<SkillView> getSkillsPage(String after, Integer limit) {
+        long afterId = CursorPage.decodeCursor(after);
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<SkillView> skills = skillRepository.findViewsAfter(afterId, Limit.of(pageSize + 1));
+        return CursorPage.of(skills, pageSize, SkillView::id);
+    }
+
+    /**
+     * Retrieves a single page of Skills, ordered by ID, with only the selected fields.
+     * 
+     * Only the selected columns are read, so leaving out large fields such as the description
+     * reduces both the data read from the database and the size of the response.
+     * 
+     * @param after The cursor returned with the previous page, or null for the first page
+     * @param limit The maximum number of Skills to return, or null for the default page size
+     * @param selection The selected fields
+     * @return The page of Skills and the cursor for the next page
+     * @throws BadRequestException if the cursor or limit is invalid
+     */
+    public CursorPage<?> getSkillsPage(String after, Integer limit, FieldSelection selection) {
+        if (selection.isComplete()) {
+            return getSkillsPage(after, limit);
+        }
+        long afterId = CursorPage.decodeCursor(after);
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<Map<String, Object>> skills = fieldProjectionRepository.findSkillsAfter(selection.fields(), afterId, pageSize + 1);
+        return CursorPage.of(skills, pageSize, skill -> (Long) skill.get("id"));
+    }
+
+    /**
+     * Returns the ETag of a page of Skills, computed from the IDs and versions of the page's Skills.
+     * 
+     * Reads the same rows as 'getSkillsPage' without loading the Skills, so a client polling
+     * an unchanged page can be answered without building or serializing it.
+     * 
+     * @param after The cursor returned with the previous page, or null for the first page
+     * @param limit The maximum number of Skills to return, or null for the default page size
+     * @param selection The selected fields
+     * @return The quoted ETag of the page
+     * @throws BadRequestException if the cursor or limit is invalid
+     */
+    public String getSkillsPageETag(String after, Integer limit, FieldSelection selection) {
+        long afterId = CursorPage.decodeCursor(after);
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<EntityVersion> versions = skillRepository.findVersionsAfter(afterId, Limit.of(pageSize + 1));
+        boolean hasMore = versions.size() > pageSize;
+        return ETags.withSelection(ETags.skillsPage(hasMore ? versions.subList(0, pageSize) : versions, hasMore), selection);
     }
 
     /**
      * Retrieves a Skill by its ID.
      * 
+     * The Skill is served from the cache when present, and loaded and cached otherwise.
+     * Concurrent misses for the same Skill share one load through the cache, and misses for different
+     * Skills arriving while a load runs are loaded together with one query. IDs recently found missing are
+     * rejected without a query. Inside a read-write transaction the Skill is read through it, without
+     * the cache, so rows the transaction has not committed are never shared.
+     * 
      * @param id The ID of the skill to retrieve
-     * @return The Skill entity if found, otherwise throws RuntimeException
+     * @return The read model of the Skill
      * @throws ResourceNotFoundException if the Skill is not found
      */
-    public Skill getSkillById(long id) { 
-        return skillRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Skill not found with id: " + id));
+    public SkillView getSkillById(long id) { 
+        if (WriteTransactions.isActive()) {
+            return skillRepository.findViewsByIdIn(List.of(id)).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Skill not found with id: " + id));
+        }
+        missingSkills.check(id);
+        SkillView skill = skillCache.get(id, skillBatches::load);
+        if (skill == null) {
+            // Recorded by the load, which may have been shared with other callers
+            throw missingSkills.notFound(id);
+        }
+        return skill;
+    }
+
+    /**
+     * Retrieves a Skill by its ID, with only the selected fields.
+     * 
+     * The Skill is served from the cache like 'getSkillById', and the selected fields are taken from the cached copy.
+     * 
+     * @param id The ID of the skill to retrieve
+     * @param selection The selected fields
+     * @return The read model of the Skill, or a map of the selected fields
+     * @throws ResourceNotFoundException if the Skill is not found
+     */
+    public Object getSkillById(long id, FieldSelection selection) {
+        return selection.select(getSkillById(id));
+    }
+
+    /**
+     * Returns the ETag of a Skill, computed from its version.
+     * 
+     * Answered from the cache when the Skill is cached, otherwise only the version is read.
+     * 
+     * @param id The ID of the skill
+     * @param selection The selected fields
+     * @return The quoted ETag of the Skill
+     * @throws ResourceNotFoundException if the Skill is not found
+     */
+    public String getSkillETag(long id, FieldSelection selection) {
+        SkillView cached = skillCache.getIfPresent(id);
+        if (cached != null) {
+            return ETags.withSelection(ETags.skill(id, cached.version()), selection);
+        }
+        missingSkills.check(id);
+        long stamp = missingSkills.stamp();
+        long version = skillRepository.findVersionById(id)
+            .orElseThrow(() -> missingSkills.notFound(id, stamp));
+        return ETags.withSelection(ETags.skill(id, version), selection);
     }
 
     /**
      * Retrieves a list of Skills by their IDs.
      * 
+     * Cached Skills are served from the cache, and all missing IDs are loaded with a single query.
+     * Unknown IDs are skipped. Inside a read-write transaction every Skill is read through it, without the cache.
+     * 
      * @param ids The list of Skill IDs to retrieve
-     * @return A list of Skill entities
+     * @return The read models of the Skills, in the order of the requested IDs
      */
-    public List<Skill> getSkillsByIds(List<Long> ids) {
-        return skillRepository.findAllById(ids);
+    public List<SkillView> getSkillsByIds(Collection<Long> ids) {
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, SkillView> skills = WriteTransactions.isActive()
+            ? skillRepository.findViewsByIdIn(distinctIds).stream().collect(Collectors.toMap(SkillView::id, Function.identity()))
+            : skillCache.getAll(distinctIds, this::loadSkillViews);
+        return distinctIds.stream()
+            .map(skills::get)
+            .filter(Objects::nonNull)
+            .toList();
+    }
+
+    /**
+     * Searches the Skill catalog by name, description and category.
+     * 
+     * Every word of the query is matched as a prefix, so partial words work for type-ahead.
+     * Results are ranked by relevance and answered from the in-memory search index.
+     * 
+     * @param query The search query
+     * @param offset The number of ranked results to skip
+     * @param limit The maximum number of results to return, or null for the default page size
+     * @return The total number of matching Skills and the requested page of ranked results
+     * @throws BadRequestException if the query is blank, or the offset or limit is invalid
+     * @throws ServiceUnavailableException if the search index is still being built
+     */
+    public SkillSearchResult searchSkills(String query, int offset, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query cannot be empty.");
+        }
+        if (offset < 0) {
+            throw new BadRequestException("Offset cannot be negative.");
+        }
+        int pageSize = CursorPage.resolveLimit(limit);
+        if (!skillSearchIndex.isReady()) {
+            throw new ServiceUnavailableException("Skill search index is still being built, retry shortly.");
+        }
+        return skillSearchIndex.search(query, offset, pageSize);
+    }
+
+    /**
+     * Returns the statistics of the Skill catalog.
+     * 
+     * Served from counters maintained on every change, so no table is scanned.
+     * 
+     * @return The Skill counts per category and difficulty, and the holder counts per Skill
+     */
+    public CatalogStatsDTO getCatalogStats() {
+        return catalogStatistics.snapshot();
+    }
+
+    /**
+     * Returns the Skill catalog, or the Skills of one category, as pre-rendered JSON.
+     * 
+     * Served from a rendering rebuilt after every committed change, so the database is not read.
+     * 
+     * @param category The category to return the Skills of, or null for every Skill
+     * @return The rendered Skills in ID order, with a compressed variant and an ETag
+     */
+    public RenderedCatalog getCatalog(String category) {
+        return skillCatalogCache.get(category);
+    }
+
+    /**
+     * Returns the statistics of the Skill cache.
+     * 
+     * @return The size, hit, miss and eviction counts of the cache
+     */
+    public CacheStatsDTO getCacheStats() {
+        return skillCache.stats();
     }
 
     /**
@@ -85,26 +404,126 @@ public class SkillService {
      * @param description The new description of the skill
      * @param category The new category of the skill
      * @param difficulty The new difficulty level of the skill
-     * @return The updated Skill entity
+     * @return The read model of the updated Skill
      * @throws BadRequestException if any of the provided fields are invalid or missing
      */
-    public Skill updateSkill(long id, String name, String description, String category, Difficulty difficulty) {
-        Skill skill = getSkillById(id);
+    @Transactional
+    public SkillView updateSkill(long id, String name, String description, String category, Difficulty difficulty) {
+        Skill skill = findSkillForUpdate(id);
+        SkillView before = SkillView.from(skill);
         skill.setName(name);
         skill.setDescription(description);
         skill.setCategory(category);
         skill.setDifficulty(difficulty);
-        return skillRepository.save(skill);
+        // Flushed so the incremented version is part of the event and the response
+        SkillView updatedSkill = SkillView.from(skillRepository.saveAndFlush(skill));
+        eventPublisher.publishEvent(SkillChangedEvent.updated(before, updatedSkill));
+        return updatedSkill;
+    }
+
+    /**
+     * Updates the given fields of a Skill, if it has not changed since the given version.
+     * 
+     * The fields are written with a single UPDATE guarded by the version, so concurrent writers cannot
+     * overwrite each other. The state before the change, which the Skill change listeners need, is taken
+     * from the cache when it holds that version, so an update of a cached Skill runs one statement.
+     * Otherwise the Skill is read with a SELECT before the UPDATE.
+     * A patch without any field is rejected, since it would change the version without changing the Skill.
+     * 
+     * @param id The ID of the skill to update
+     * @param version The version of the skill the change is based on
+     * @param name The new name of the skill, or null to keep it
+     * @param description The new description of the skill, or null to keep it
+     * @param category The new category of the skill, or null to keep it
+     * @param difficulty The new difficulty level of the skill, or null to keep it
+     * @return The ID and new version of the Skill
+     * @throws BadRequestException if no field is provided, or a provided field is blank
+     * @throws ResourceNotFoundException if the Skill is not found
+     * @throws ConflictException if the Skill is no longer at the given version
+     */
+    @Transactional
+    public EntityVersion patchSkill(long id, long version, String name, String description, String category, Difficulty difficulty) {
+        if (name == null && description == null && category == null && difficulty == null) {
+            throw new BadRequestException("Skill patch must change at least one field.");
+        }
+        requireNotBlank(name, "Skill name cannot be empty.");
+        requireNotBlank(description, "Skill description cannot be empty.");
+        requireNotBlank(category, "Skill category cannot be empty.");
+
+        SkillView before = findSkillViewAtVersion(id, version);
+        if (skillRepository.patch(id, version, name, description, category, difficulty) == 0) {
+            throw versionConflict(id, version);
+        }
+        SkillView after = new SkillView(
+            id,
+            name != null ? name : before.name(),
+            description != null ? description : before.description(),
+            category != null ? category : before.category(),
+            difficulty != null ? difficulty : before.difficulty(),
+            version + 1
+        );
+        eventPublisher.publishEvent(SkillChangedEvent.updated(before, after));
+        return new EntityVersion(id, after.version());
     }
 
     /**
-     * Deletes a Skill by its ID.
+     * Deletes a Skill by its ID, removing it from every User that has it.
+     * The versions of those Users are incremented, since their Skills change.
      * 
      * @param id The ID of the skill to delete
+     * @throws ResourceNotFoundException if the Skill is not found
      */
+    @Transactional
     public void deleteSkill(long id) { 
-        Skill skill = getSkillById(id);
+        Skill skill = findSkillForUpdate(id);
+        SkillView before = SkillView.from(skill);
+        userSkillRepository.incrementHolderVersions(id);
+        userSkillRepository.deleteBySkill(id);
         skillRepository.delete(skill);
+        eventPublisher.publishEvent(SkillChangedEvent.deleted(before));
+    }
+
+    // Returns the state of a Skill at the given version, from the cache when it holds that version
+    private SkillView findSkillViewAtVersion(long id, long version) {
+        SkillView cached = skillCache.getIfPresent(id);
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+        Skill skill = findSkillForUpdate(id);
+        if (skill.getVersion() != version) {
+            throw versionConflict(id, version);
+        }
+        return SkillView.from(skill);
+    }
+
+    // Loads Skills missing from the cache with a single query, keyed by ID
+    // Records the IDs that were not found, with a stamp taken before the query rather than by each caller sharing the load
+    private Map<Long, SkillView> loadSkillViews(Set<? extends Long> ids) {
+        long stamp = missingSkills.stamp();
+        Map<Long, SkillView> skills = skillRepository.findViewsByIdIn(ids).stream()
+            .collect(Collectors.toMap(SkillView::id, Function.identity()));
+        for (Long id : ids) {
+            if (!skills.containsKey(id)) {
+                missingSkills.record(id, stamp);
+            }
+        }
+        return skills;
+    }
+
+    private static ConflictException versionConflict(long id, long version) {
+        return new ConflictException("Skill with id " + id + " has changed since version " + version + ", reload it and retry.");
+    }
+
+    private static void requireNotBlank(String value, String message) {
+        if (value != null && value.isBlank()) {
+            throw new BadRequestException(message);
+        }
+    }
+
+    // Loads the Skill entity from the database, since the cache only holds read models
+    private Skill findSkillForUpdate(long id) {
+        return skillRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Skill not found with id: " + id));
     }
 
 
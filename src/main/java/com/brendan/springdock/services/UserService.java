@@ -1,14 +1,63 @@
 package com.brendan.springdock.services;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import com.brendan.springdock.exceptions.BadRequestException;
+import com.brendan.springdock.exceptions.BulkValidationException;
+import com.brendan.springdock.exceptions.ConflictException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.brendan.springdock.dto.BulkCreateResult;
+import com.brendan.springdock.dto.CursorPage;
+import com.brendan.springdock.dto.EntityVersion;
+import com.brendan.springdock.dto.FieldSelection;
+import com.brendan.springdock.dto.SkillAssignmentDelta;
+import com.brendan.springdock.dto.SkillMatchMode;
+import com.brendan.springdock.dto.SkillMatchResult;
+import com.brendan.springdock.dto.SkillView;
+import com.brendan.springdock.events.UserCreatedEvent;
+import com.brendan.springdock.events.UserDeletedEvent;
+import com.brendan.springdock.events.SkillChangedEvent;
+import com.brendan.springdock.events.UserSkillsChangedEvent;
+import com.brendan.springdock.events.UserUpdatedEvent;
+import com.brendan.springdock.exceptions.ServiceUnavailableException;
+import com.brendan.springdock.dto.UserDTO;
+import com.brendan.springdock.dto.UserDetailView;
+import com.brendan.springdock.dto.UserExportRow;
+import com.brendan.springdock.dto.UserVersion;
+import com.brendan.springdock.dto.UserView;
 import com.brendan.springdock.exceptions.ResourceNotFoundException;
-import com.brendan.springdock.models.Skill;
 import com.brendan.springdock.models.User;
+import com.brendan.springdock.repository.FieldProjectionRepository;
 import com.brendan.springdock.repository.UserRepository;
+import com.brendan.springdock.repository.UserSkillRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 
 /**
  * Defines the Service layer for User-related operations.
@@ -17,24 +66,106 @@ import com.brendan.springdock.repository.UserRepository;
  * handling business logic and data manipulation for User entities.
  */
 @Service
+@Timed(value = "springdock.service", description = "Time spent in public service methods")
 public class UserService {
 
+    // Number of exported Users written between flushes of the export stream
+    private static final int EXPORT_FLUSH_INTERVAL = 100;
+
+    // Largest number of Skills a single reverse lookup can match on
+    private static final int MAX_MATCH_SKILLS = 100;
+
     // Repository for performing database operations on User entities
     private final UserRepository userRepository;
 
+    // Repository for set-based operations on the 'user_skills' join table
+    private final UserSkillRepository userSkillRepository;
+
+    // Reads only the fields a client selected
+    private final FieldProjectionRepository fieldProjectionRepository;
+
     // Service for performing operations related to Skills
     // Injected here so UserService can coordinate actions involving both Users and their associated Skills
     private final SkillService skillService;
 
+    // In-memory index of the Users holding each Skill, used for skill-set matching
+    private final SkillHolderIndex skillHolderIndex;
+
+    // Publishes changes to Users and their Skills to listeners such as the skill holder index
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Factory for the streaming JSON generator used by the export, shared with Spring's ObjectMapper
+    private final JsonFactory jsonFactory;
+
+    // Used to flush and clear the persistence context between bulk insert batches
+    private final EntityManager entityManager;
+
+    // Validates the items of bulk create requests
+    private final BulkRequestValidator bulkRequestValidator;
+
+    // Number of Users written per JDBC batch, matches Hibernate's configured batch size
+    private final int batchSize;
+
+    // Runs the bulk loads of User lookups in a read-only transaction
+    private final TransactionTemplate readOnlyTransaction;
+
+    // Merges concurrent lookups of different Users into one bulk load
+    private final BatchLoader<Long, UserDetailView> userBatches;
+
+    // Shares the in-flight load of a User between concurrent lookups of it
+    private final SingleFlight<Long, UserDetailView> userLoads = new SingleFlight<>();
+
+    // User IDs known not to exist, checked before the database
+    private final NotFoundCache.Region missingUsers;
+
     /**
      * Constructor-based dependency injection for the UserRepository.
      * Spring automatically injects the repository instance when creating this service.
      * 
      * @param userRepository the UserRepository to be injected
+     * @param userSkillRepository the UserSkillRepository to be injected
+     * @param fieldProjectionRepository the FieldProjectionRepository to be injected
+     * @param skillService the SkillService to be injected
+     * @param skillHolderIndex the skill holder index to be injected
+     * @param eventPublisher the publisher for User change events
+     * @param objectMapper the application ObjectMapper, used to write the export
+     * @param entityManager the shared EntityManager to be injected
+     * @param bulkRequestValidator the validator for bulk create requests
+     * @param notFoundCache the cache of missing Skill and User IDs
+     * @param batchSize the JDBC batch size configured for Hibernate
+     * @param transactionManager the transaction manager, used to run the bulk loads of User lookups
+     * @param batchWindow the longest time a User lookup queued behind a running load waits for it
+     * @param maxBatchSize the largest number of Users loaded by one bulk load
      */
-    public UserService(UserRepository userRepository, SkillService skillService) {
+    public UserService(
+            UserRepository userRepository,
+            UserSkillRepository userSkillRepository,
+            FieldProjectionRepository fieldProjectionRepository,
+            SkillService skillService,
+            SkillHolderIndex skillHolderIndex,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            EntityManager entityManager,
+            BulkRequestValidator bulkRequestValidator,
+            NotFoundCache notFoundCache,
+            @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}") int batchSize,
+            PlatformTransactionManager transactionManager,
+            @Value("${springdock.coalescing.batch-window:2ms}") Duration batchWindow,
+            @Value("${springdock.coalescing.max-batch-size:100}") int maxBatchSize) {
         this.userRepository = userRepository;
+        this.userSkillRepository = userSkillRepository;
+        this.fieldProjectionRepository = fieldProjectionRepository;
         this.skillService = skillService;
+        this.skillHolderIndex = skillHolderIndex;
+        this.eventPublisher = eventPublisher;
+        this.jsonFactory = objectMapper.getFactory();
+        this.entityManager = entityManager;
+        this.bulkRequestValidator = bulkRequestValidator;
+        this.batchSize = batchSize;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.userBatches = new BatchLoader<>(this::loadUserViewsById, batchWindow, maxBatchSize);
+        this.missingUsers = notFoundCache.users();
     }
 
     /**
@@ -42,46 +173,428 @@ public class UserService {
      * 
      * @param name The name of the user
      * @param email The email of the user
-     * @return The saved User entity
+     * @return The read model of the saved User
      */
-    public User createUser(String name, String email) {
-        User user = new User(name, email);
-        return userRepository.save(user);
+    @Transactional
+    public UserDetailView createUser(String name, String email) {
+        User user = userRepository.save(new User(name, email));
+        eventPublisher.publishEvent(new UserCreatedEvent(List.of(user.getId())));
+        return UserDetailView.from(user);
+    }
+
+    /**
+     * Creates many Users in a single transaction using JDBC batching.
+     * 
+     * Every item is validated before anything is written, and all invalid items are reported together.
+     * Users are inserted in batches of the configured JDBC batch size, and the persistence context is
+     * cleared after each batch so memory use does not grow with the size of the request.
+     * 
+     * @param userDTOs The Users to create
+     * @return The number of created Users and their IDs, in request order
+     * @throws BadRequestException if the request is empty or too large
+     * @throws BulkValidationException if one or more items are invalid
+     */
+    @Transactional
+    public BulkCreateResult createUsers(List<UserDTO> userDTOs) {
+        bulkRequestValidator.validate(userDTOs);
+
+        List<Long> ids = new ArrayList<>(userDTOs.size());
+        for (int start = 0; start < userDTOs.size(); start += batchSize) {
+            List<User> batch = userDTOs.subList(start, Math.min(start + batchSize, userDTOs.size())).stream()
+                .map(dto -> new User(dto.getName(), dto.getEmail()))
+                .toList();
+
+            userRepository.saveAll(batch);
+            entityManager.flush();
+            entityManager.clear();
+
+            for (User user : batch) {
+                ids.add(user.getId());
+            }
+        }
+        eventPublisher.publishEvent(new UserCreatedEvent(List.copyOf(ids)));
+        return new BulkCreateResult(ids.size(), ids);
+    }
+
+    /**
+     * Retrieves a single page of Users, ordered by ID.
+     * 
+     * The page is read with an 'id > ?' query on the primary key, so the cost of a page
+     * does not depend on how deep the client has paged. The page of IDs is read first, then the
+     * Users and their Skill IDs are read into read models, and the Skills are served from the
+     * Skill cache, so any page takes a fixed number of queries no matter how many Users or Skills it contains.
+     * Only the selected columns are read, and the Skills are only read when they are selected.
+     * 
+     * @param after The cursor returned with the previous page, or null for the first page
+     * @param limit The maximum number of Users to return, or null for the default page size
+     * @param selection The selected fields
+     * @return The page of Users and the cursor for the next page
+     * @throws BadRequestException if the cursor or limit is invalid
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<?> getUsersPage(String after, Integer limit, FieldSelection selection) {
+        long afterId = CursorPage.decodeCursor(after);
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<Long> ids = userRepository.findIdsAfter(afterId, Limit.of(pageSize + 1));
+        return loadUserPage(ids, pageSize, selection);
+    }
+
+    /**
+     * Retrieves a page of the Users that have the given Skill, ordered by ID.
+     * 
+     * @param skillId The ID of the Skill
+     * @param after The cursor returned with the previous page, or null for the first page
+     * @param limit The maximum number of Users to return, or null for the default page size
+     * @param selection The selected fields
+     * @return The page of Users with the Skill and the cursor for the next page
+     * @throws ResourceNotFoundException if the Skill is not found
+     * @throws BadRequestException if the cursor or limit is invalid
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<?> getUsersWithSkill(long skillId, String after, Integer limit, FieldSelection selection) {
+        skillService.getSkillById(skillId);
+        long afterId = CursorPage.decodeCursor(after);
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<Long> ids = userSkillRepository.findUserIdsWithSkill(skillId, afterId, pageSize + 1);
+        return loadUserPage(ids, pageSize, selection);
+    }
+
+    /**
+     * Retrieves a page of the Users that have all, or any, of the given Skills, ordered by ID.
+     * 
+     * @param skillIds The IDs of the Skills to match
+     * @param match Whether Users must have all of the Skills or any of them
+     * @param after The cursor returned with the previous page, or null for the first page
+     * @param limit The maximum number of Users to return, or null for the default page size
+     * @param selection The selected fields
+     * @return The page of matching Users and the cursor for the next page
+     * @throws BadRequestException if no Skills are given, too many are given, or the cursor or limit is invalid
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<?> findUsersBySkills(List<Long> skillIds, SkillMatchMode match, String after, Integer limit, FieldSelection selection) {
+        Set<Long> requested = distinctIds(skillIds);
+        if (requested.isEmpty()) {
+            throw new BadRequestException("At least one skill ID is required.");
+        }
+        if (requested.size() > MAX_MATCH_SKILLS) {
+            throw new BadRequestException("Cannot match more than " + MAX_MATCH_SKILLS + " skills.");
+        }
+
+        long afterId = CursorPage.decodeCursor(after);
+        int pageSize = CursorPage.resolveLimit(limit);
+        List<Long> ids;
+        if (skillHolderIndex.isReady()) {
+            // Answer from the in-memory bitmaps, only the page of Users is read from the database
+            ids = match == SkillMatchMode.ANY
+                ? skillHolderIndex.matchUserIds(List.of(), requested, afterId, pageSize + 1)
+                : skillHolderIndex.matchUserIds(requested, List.of(), afterId, pageSize + 1);
+        } else {
+            ids = match == SkillMatchMode.ANY
+                ? userSkillRepository.findUserIdsWithAnySkill(requested, afterId, pageSize + 1)
+                : userSkillRepository.findUserIdsWithAllSkills(requested, afterId, pageSize + 1);
+        }
+        return loadUserPage(ids, pageSize, selection);
+    }
+
+    /**
+     * Matches Users against a combination of Skills using the in-memory skill holder index.
+     * 
+     * The result is the Users holding every Skill in 'all', intersected with the Users holding
+     * at least one Skill in 'any', minus the Users holding any Skill in 'none'. Only User IDs
+     * are returned, so no database access is needed.
+     * 
+     * @param all The Skills a User must all have, may be empty
+     * @param any The Skills of which a User must have at least one, may be empty
+     * @param none The Skills a User must not have, may be empty
+     * @param after The cursor returned with the previous page, or null for the first page
+     * @param limit The maximum number of User IDs to return, or null for the default page size
+     * @return The total number of matching Users and one page of their IDs
+     * @throws BadRequestException if neither 'all' nor 'any' is given, or the cursor or limit is invalid
+     * @throws ServiceUnavailableException if the index is still being built
+     */
+    public SkillMatchResult matchUsers(List<Long> all, List<Long> any, List<Long> none, String after, Integer limit) {
+        Set<Long> allIds = distinctIds(all);
+        Set<Long> anyIds = distinctIds(any);
+        Set<Long> noneIds = distinctIds(none);
+        if (allIds.isEmpty() && anyIds.isEmpty()) {
+            throw new BadRequestException("At least one skill ID is required in 'all' or 'any'.");
+        }
+        if (allIds.size() + anyIds.size() + noneIds.size() > MAX_MATCH_SKILLS) {
+            throw new BadRequestException("Cannot match more than " + MAX_MATCH_SKILLS + " skills.");
+        }
+        if (!skillHolderIndex.isReady()) {
+            throw new ServiceUnavailableException("Skill holder index is still being built, retry shortly.");
+        }
+
+        long afterId = CursorPage.decodeCursor(after);
+        int pageSize = CursorPage.resolveLimit(limit);
+        return skillHolderIndex.match(allIds, anyIds, noneIds, afterId, pageSize);
+    }
+
+    // Loads a page of Users from IDs fetched with a limit of one more than the page size
+    private CursorPage<?> loadUserPage(List<Long> ids, int pageSize, FieldSelection selection) {
+        CursorPage<Long> idPage = CursorPage.of(ids, pageSize, Long::longValue);
+        if (idPage.items().isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+        List<?> users = selection.isComplete()
+            ? loadUserViews(idPage.items())
+            : loadUserFields(idPage.items(), selection);
+        return new CursorPage<>(users, idPage.nextCursor());
+    }
+
+    // Bulk load of the User lookups merged by 'userBatches'
+    // Records the IDs that were not found, with a stamp taken before the query rather than by each caller sharing the load
+    private Map<Long, UserDetailView> loadUserViewsById(Set<Long> ids) {
+        long stamp = missingUsers.stamp();
+        List<UserDetailView> users = readOnlyTransaction.execute(status -> loadUserViews(new ArrayList<>(ids)));
+        Map<Long, UserDetailView> usersById = new HashMap<>();
+        for (UserDetailView user : users) {
+            usersById.put(user.id(), user);
+        }
+        for (Long id : ids) {
+            if (!usersById.containsKey(id)) {
+                missingUsers.record(id, stamp);
+            }
+        }
+        return usersById;
+    }
+
+    // Loads the read models of Users with their Skills, ordered by ID, skipping unknown IDs
+    private List<UserDetailView> loadUserViews(List<Long> ids) {
+        List<UserView> users = userRepository.findViewsByIdIn(ids);
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<SkillView>> skills = loadSkillsOfUsers(ids);
+        return users.stream()
+            .map(user -> UserDetailView.of(user, skills.getOrDefault(user.id(), List.of())))
+            .toList();
+    }
+
+    // Loads the selected fields of Users, ordered by ID, reading their Skills only when they are selected
+    private List<Map<String, Object>> loadUserFields(List<Long> ids, FieldSelection selection) {
+        List<Map<String, Object>> users = fieldProjectionRepository.findUsersByIdIn(selection.fields(), ids);
+        if (users.isEmpty() || !selection.includesSkills()) {
+            return users;
+        }
+        Map<Long, List<SkillView>> skills = loadSkillsOfUsers(ids);
+        for (Map<String, Object> user : users) {
+            user.put("skills", selection.selectSkills(skills.getOrDefault((Long) user.get("id"), List.of())));
+        }
+        return users;
+    }
+
+    // Reads the Skill IDs of the Users from the join table and resolves them through the Skill cache
+    private Map<Long, List<SkillView>> loadSkillsOfUsers(List<Long> ids) {
+        Map<Long, List<Long>> skillIdsByUser = userSkillRepository.findSkillIdsByUser(ids);
+        Set<Long> skillIds = new HashSet<>();
+        skillIdsByUser.values().forEach(skillIds::addAll);
+        Map<Long, SkillView> skills = new HashMap<>();
+        for (SkillView skill : skillService.getSkillsByIds(skillIds)) {
+            skills.put(skill.id(), skill);
+        }
+
+        Map<Long, List<SkillView>> skillsByUser = new HashMap<>();
+        skillIdsByUser.forEach((userId, userSkillIds) -> skillsByUser.put(userId, userSkillIds.stream()
+            .map(skills::get)
+            .filter(Objects::nonNull)
+            .toList()));
+        return skillsByUser;
+    }
+
+    /**
+     * Writes every User and the IDs of its Skills to the given stream as newline-delimited JSON.
+     * 
+     * Rows are streamed from a database cursor and written as they arrive, so memory use does not
+     * depend on the number of Users, and the first line is flushed as soon as it is written.
+     * Each line has the form {"id":1,"name":"...","email":"...","skillIds":[1,2]}.
+     * 
+     * @param out The stream to write the export to
+     * @throws IOException if writing to the stream fails
+     */
+    @Transactional(readOnly = true)
+    public void exportUsers(OutputStream out) throws IOException {
+        try (Stream<UserExportRow> rows = userRepository.streamExportRows();
+             JsonGenerator json = jsonFactory.createGenerator(out)) {
+            // Each User is written on its own line, so no separator between root values
+            json.setPrettyPrinter(new MinimalPrettyPrinter(""));
+
+            Iterator<UserExportRow> iterator = rows.iterator();
+            long currentUserId = -1;
+            int usersWritten = 0;
+
+            while (iterator.hasNext()) {
+                UserExportRow row = iterator.next();
+
+                // Rows are ordered by User ID, so a new ID closes the previous User's line
+                if (row.userId() != currentUserId) {
+                    if (usersWritten > 0) {
+                        endExportLine(json);
+                        if (usersWritten % EXPORT_FLUSH_INTERVAL == 0) {
+                            json.flush();
+                        }
+                    }
+                    json.writeStartObject();
+                    json.writeNumberField("id", row.userId());
+                    json.writeStringField("name", row.name());
+                    json.writeStringField("email", row.email());
+                    json.writeArrayFieldStart("skillIds");
+                    currentUserId = row.userId();
+                    usersWritten++;
+
+                    // Send the first bytes to the client immediately
+                    if (usersWritten == 1) {
+                        json.flush();
+                    }
+                }
+
+                if (row.skillId() != null) {
+                    json.writeNumber(row.skillId());
+                }
+            }
+
+            if (usersWritten > 0) {
+                endExportLine(json);
+            }
+            json.flush();
+        }
+    }
+
+    // Closes the 'skillIds' array and the User object, and terminates the line
+    private void endExportLine(JsonGenerator json) throws IOException {
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeRaw('\n');
     }
 
     /**
-     * Retrieves all Users from the database.
+     * Retrieves a User by its ID, with its Skills.
+     * 
+     * The User and its Skill IDs are read into read models, and the Skills are served from the Skill cache.
+     * Concurrent lookups of the same User share one load, and lookups of different Users arriving while
+     * a load runs are loaded together with one query per table. Only the thread running a load holds
+     * a database connection, the others wait for its result. IDs recently found missing are rejected
+     * without a query. Inside a read-write transaction the User is read through it on its own, so rows
+     * the transaction has not committed are never shared.
      * 
-     * @return A list of all User entities
+     * @param id The ID of the user to retrieve
+     * @return The read model of the User with its Skills
+     * @throws ResourceNotFoundException if the User is not found
      */
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public UserDetailView getUserById(long id) {
+        if (WriteTransactions.isActive()) {
+            return loadUserViews(List.of(id)).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        }
+        missingUsers.check(id);
+        UserDetailView user = userLoads.load(id, userBatches::load);
+        if (user == null) {
+            // Recorded by the load, which may have been shared with other callers
+            throw missingUsers.notFound(id);
+        }
+        return user;
     }
 
     /**
-     * Retrieves a User by its ID.
+     * Retrieves a User by its ID, with only the selected fields.
      * 
      * @param id The ID of the user to retrieve
-     * @return The User entity if found, otherwise throws ResourceNotFoundException
+     * @param selection The selected fields
+     * @return The read model of the User, or a map of the selected fields
      * @throws ResourceNotFoundException if the User is not found
      */
-    public User getUserById(long id) {
-        return userRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+    public Object getUserById(long id, FieldSelection selection) {
+        if (selection.isComplete()) {
+            return getUserById(id);
+        }
+        missingUsers.check(id);
+        long stamp = missingUsers.stamp();
+        List<Map<String, Object>> users = readOnlyTransaction.execute(status -> loadUserFields(List.of(id), selection));
+        if (users.isEmpty()) {
+            throw missingUsers.notFound(id, stamp);
+        }
+        return users.get(0);
+    }
+
+    /**
+     * Returns the ETag of a User, computed from the versions of the User and, if selected, its Skills.
+     * 
+     * Only the versions are read, so the User and its Skills are neither loaded nor serialized.
+     * 
+     * @param id The ID of the user
+     * @param selection The selected fields
+     * @return The quoted ETag of the User
+     * @throws ResourceNotFoundException if the User is not found
+     */
+    @Transactional(readOnly = true)
+    public String getUserETag(long id, FieldSelection selection) {
+        missingUsers.check(id);
+        long stamp = missingUsers.stamp();
+        if (!selection.includesSkills()) {
+            long version = userRepository.findOwnVersionById(id)
+                .orElseThrow(() -> missingUsers.notFound(id, stamp));
+            return ETags.withSelection(ETags.user(id, version), selection);
+        }
+        UserVersion version = userRepository.findVersionById(id)
+            .orElseThrow(() -> missingUsers.notFound(id, stamp));
+        return ETags.withSelection(ETags.user(id, version), selection);
     }
 
     /**
      * Updates an existing User with the provided details.
      * 
      * @param id The ID of the user to update
-     * @param updatedUser The User object containing updated details
-     * @return The updated User entity
+     * @param name The new name of the user
+     * @param email The new email of the user
+     * @return The read model of the updated User
+     * @throws ResourceNotFoundException if the User is not found
      */
-    public User updateUser(long id, String name, String email) {
-        User user = getUserById(id);
+    @Transactional
+    public UserDetailView updateUser(long id, String name, String email) {
+        User user = findUserForUpdate(id);
         user.setName(name);
         user.setEmail(email);
-        return userRepository.save(user);
+        // Flushed so the incremented version is part of the response
+        UserDetailView updated = UserDetailView.from(userRepository.saveAndFlush(user));
+        eventPublisher.publishEvent(new UserUpdatedEvent(id));
+        return updated;
+    }
+
+    /**
+     * Updates the given fields of a User, if it has not changed since the given version.
+     * 
+     * Runs as a single UPDATE guarded by the version, without loading the User, so concurrent writers
+     * cannot overwrite each other. The User is only looked up again when the update did not apply.
+     * A patch without any field is rejected, since it would change the version without changing the User.
+     * 
+     * @param id The ID of the user to update
+     * @param version The version of the user the change is based on
+     * @param name The new name of the user, or null to keep it
+     * @param email The new email of the user, or null to keep it
+     * @return The ID and new version of the User
+     * @throws BadRequestException if no field is provided, or a provided field is blank
+     * @throws ResourceNotFoundException if the User is not found
+     * @throws ConflictException if the User is no longer at the given version
+     */
+    @Transactional
+    public EntityVersion patchUser(long id, long version, String name, String email) {
+        if (name == null && email == null) {
+            throw new BadRequestException("User patch must change at least one field.");
+        }
+        if (name != null && name.isBlank()) {
+            throw new BadRequestException("User name cannot be empty.");
+        }
+        if (email != null && email.isBlank()) {
+            throw new BadRequestException("User email cannot be empty.");
+        }
+        if (userRepository.patch(id, version, name, email) == 0) {
+            requireUserExists(id);
+            throw new ConflictException("User with id " + id + " has changed since version " + version + ", reload it and retry.");
+        }
+        eventPublisher.publishEvent(new UserUpdatedEvent(id));
+        return new EntityVersion(id, version + 1);
     }
 
     /**
@@ -89,9 +602,14 @@ public class UserService {
      * 
      * @param id The ID of the user to delete
      */
+    @Transactional
     public void deleteUser(long id) {
-        User user = getUserById(id);
+        User user = userRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+        // Read from the join table, which the assignment endpoints write with JDBC
+        Set<Long> skillIds = Set.copyOf(userSkillRepository.findSkillIdsByUser(List.of(id)).getOrDefault(id, List.of()));
         userRepository.delete(user);
+        eventPublisher.publishEvent(new UserDeletedEvent(id, skillIds));
     }
 
     /**
@@ -99,30 +617,43 @@ public class UserService {
      * 
      * @param userId The ID of the User to whom the Skill will be added
      * @param skillId The ID of the Skill to be added to the User
+     * @return The change made to the User's Skills
+     * @throws ResourceNotFoundException if the User or Skill is not found
      */
-    public void addSkillToUser(long userId, long skillId) {
-        User user = getUserById(userId);
-        Skill skill = skillService.getSkillById(skillId);
-        
-        user.addSkill(skill);
-        userRepository.save(user);
+    @Transactional
+    public SkillAssignmentDelta addSkillToUser(long userId, long skillId) {
+        skillService.getSkillById(skillId);
+        return addSkillsToUser(userId, List.of(skillId));
     }
 
     /**
      * Adds multiple Skills to a User's set of Skills.
      * 
+     * Runs as set-based statements on the join table, without loading the User or its Skills.
+     * The User's row is locked first, so concurrent changes to its Skills cannot both add the same Skill.
+     * The User's version is incremented when any Skill is added.
+     * Unknown Skill IDs and Skills the User already has are skipped.
+     * 
      * @param userId The ID of the User to whom the Skills will be added
      * @param skillIds The list of Skill IDs to be added to the User
+     * @return The change made to the User's Skills
+     * @throws ResourceNotFoundException if the User is not found
      */
-    public void addSkillsToUser(long userId, List<Long> skillIds) {
-        User user = getUserById(userId);
-        List<Skill> skills = skillService.getSkillsByIds(skillIds);
-
-        for (Skill skill : skills) {
-            user.addSkill(skill);
+    @Transactional
+    public SkillAssignmentDelta addSkillsToUser(long userId, List<Long> skillIds) {
+        lockUser(userId);
+        Set<Long> requested = distinctIds(skillIds);
+        if (requested.isEmpty()) {
+            return new SkillAssignmentDelta(userId, List.of(), List.of());
         }
 
-        userRepository.save(user);
+        List<Long> added = userSkillRepository.findAssignableSkillIds(userId, requested);
+        if (!added.isEmpty()) {
+            userSkillRepository.insertIfAbsent(userId, added);
+            userRepository.incrementVersion(userId);
+            eventPublisher.publishEvent(new UserSkillsChangedEvent(userId, added, List.of()));
+        }
+        return new SkillAssignmentDelta(userId, added, List.of());
     } 
 
     /**
@@ -130,30 +661,128 @@ public class UserService {
      * 
      * @param userId The ID of the User from whom the Skill will be removed
      * @param skillId The ID of the Skill to be removed from the User
+     * @return The change made to the User's Skills
+     * @throws ResourceNotFoundException if the User or Skill is not found
      */
-    public void removeSkillFromUser(long userId, long skillId) {
-        User user = getUserById(userId);
-        Skill skill = skillService.getSkillById(skillId);
-        
-        user.removeSkill(skill);
-        userRepository.save(user);
+    @Transactional
+    public SkillAssignmentDelta removeSkillFromUser(long userId, long skillId) {
+        skillService.getSkillById(skillId);
+        return removeSkillsFromUser(userId, List.of(skillId));
     }
 
     /**
      * Removes multiple Skills from a User's set of Skills.
      * 
+     * Runs as set-based statements on the join table, without loading the User or its Skills.
+     * The User's row is locked first, so concurrent changes to its Skills cannot both remove the same Skill.
+     * The User's version is incremented when any Skill is removed.
+     * Skills the User does not have are skipped.
+     * 
      * @param userId The ID of the User from whom the Skills will be removed
      * @param skillIds The list of Skill IDs to be removed from the User
+     * @return The change made to the User's Skills
+     * @throws ResourceNotFoundException if the User is not found
+     */
+    @Transactional
+    public SkillAssignmentDelta removeSkillsFromUser(long userId, List<Long> skillIds) {
+        lockUser(userId);
+        Set<Long> requested = distinctIds(skillIds);
+        if (requested.isEmpty()) {
+            return new SkillAssignmentDelta(userId, List.of(), List.of());
+        }
+
+        List<Long> removed = userSkillRepository.findAssignedSkillIds(userId, requested);
+        if (!removed.isEmpty()) {
+            userSkillRepository.delete(userId, removed);
+            userRepository.incrementVersion(userId);
+            eventPublisher.publishEvent(new UserSkillsChangedEvent(userId, List.of(), removed));
+        }
+        return new SkillAssignmentDelta(userId, List.of(), removed);
+    }
+
+    /**
+     * Detaches in-flight loads of created Users, so later lookups find them rather than joining a load that did not.
+     * 
+     * @param event The committed creation
+     */
+    @TransactionalEventListener
+    public void onUsersCreated(UserCreatedEvent event) {
+        event.userIds().forEach(userLoads::forget);
+    }
+
+    /**
+     * Detaches the in-flight load of a User whose name or email changed, so later lookups read the change.
+     * 
+     * @param event The committed change
+     */
+    @TransactionalEventListener
+    public void onUserUpdated(UserUpdatedEvent event) {
+        userLoads.forget(event.userId());
+    }
+
+    /**
+     * Detaches the in-flight load of a User whose Skills changed, so later lookups read the change.
+     * 
+     * @param event The committed change
+     */
+    @TransactionalEventListener
+    public void onUserSkillsChanged(UserSkillsChangedEvent event) {
+        userLoads.forget(event.userId());
+    }
+
+    /**
+     * Detaches the in-flight load of a deleted User, so later lookups report it as not found.
+     * 
+     * @param event The committed deletion
+     */
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        userLoads.forget(event.userId());
+    }
+
+    /**
+     * Detaches every in-flight User load when a Skill changes, since any of them may embed the old Skill.
+     * 
+     * @param event The committed change
      */
-    public void removeSkillsFromUser(long userId, List<Long> skillIds) {
-        User user = getUserById(userId);
-        List<Skill> skills = skillService.getSkillsByIds(skillIds);
+    @TransactionalEventListener
+    public void onSkillChanged(SkillChangedEvent event) {
+        userLoads.forgetAll();
+    }
+
+    // Loads the User entity with its Skills fetched in the same query, for changes that need the entity
+    private User findUserForUpdate(long id) {
+        return userRepository.findWithSkillsById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
+    }
 
-        for (Skill skill : skills) {
-            user.removeSkill(skill);
+    // Checks that the User exists without loading it
+    private void requireUserExists(long userId) {
+        missingUsers.check(userId);
+        long stamp = missingUsers.stamp();
+        if (!userRepository.existsById(userId)) {
+            throw missingUsers.notFound(userId, stamp);
         }
+    }
 
-        userRepository.save(user);
+    // Locks the row of the User for the rest of the transaction, so changes to its Skills are serialized
+    private void lockUser(long userId) {
+        missingUsers.check(userId);
+        long stamp = missingUsers.stamp();
+        if (!userSkillRepository.lockUser(userId)) {
+            throw missingUsers.notFound(userId, stamp);
+        }
+    }
+
+    // Removes duplicate and null IDs from a request
+    private static Set<Long> distinctIds(List<Long> ids) {
+        Set<Long> distinct = new LinkedHashSet<>();
+        if (ids != null) {
+            for (Long id : ids) {
+                if (id != null) distinct.add(id);
+            }
+        }
+        return distinct;
     }
     
     
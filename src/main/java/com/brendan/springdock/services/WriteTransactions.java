@@ -0,0 +1,28 @@
+package com.brendan.springdock.services;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Tells whether the current thread runs inside a read-write transaction.
+ * 
+ * Loads shared between callers run on the thread of one of them, and join its transaction. Inside a
+ * read-write transaction they could hand rows it has not committed, or miss rows it has deleted, to
+ * other callers and to the caches, so lookups made there read through the transaction on their own.
+ * Read-only transactions write nothing, so loads running in them are still shared.
+ */
+final class WriteTransactions {
+
+    private WriteTransactions() {
+    }
+
+    /**
+     * Returns whether a read-write transaction is active on the current thread.
+     * 
+     * @return true inside a transaction that is not read-only
+     */
+    static boolean isActive() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+            && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+}
@@ -0,0 +1,167 @@
+package com.brendan.springdock.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests how BatchLoader starts, queues and fails bulk loads under concurrent callers.
+ */
+class BatchLoaderTest {
+
+    // Long enough that a test waiting for it would time out, so passing tests never rely on it
+    private static final Duration LONG_WINDOW = Duration.ofSeconds(30);
+
+    @Test
+    void loneCallerLoadsRightAwayWithoutWaitingForTheWindow() {
+        RecordingLoader loader = new RecordingLoader();
+        BatchLoader<Long, String> batches = new BatchLoader<>(loader, LONG_WINDOW, 100);
+
+        long start = System.nanoTime();
+        String value = batches.load(1L);
+
+        assertThat(value).isEqualTo("value-1");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(loader.batches).containsExactly(Set.of(1L));
+    }
+
+    @Test
+    void callersArrivingWhileALoadRunsAreLoadedTogetherOnceItFinishes() throws Exception {
+        RecordingLoader loader = new RecordingLoader();
+        CountDownLatch releaseFirst = loader.blockBatchContaining(1L);
+        BatchLoader<Long, String> batches = new BatchLoader<>(loader, LONG_WINDOW, 100);
+
+        Caller<String> first = Caller.start(() -> batches.load(1L));
+        loader.awaitBatches(1);
+        Caller<String> second = Caller.start(() -> batches.load(2L));
+        Caller<String> third = Caller.start(() -> batches.load(3L));
+        Caller<String> duplicate = Caller.start(() -> batches.load(3L));
+        Caller.awaitBlocked(second, third, duplicate);
+        assertThat(loader.batches).hasSize(1);
+
+        releaseFirst.countDown();
+
+        assertThat(first.result()).isEqualTo("value-1");
+        assertThat(second.result()).isEqualTo("value-2");
+        assertThat(third.result()).isEqualTo("value-3");
+        assertThat(duplicate.result()).isEqualTo("value-3");
+        assertThat(loader.batches).containsExactly(Set.of(1L), Set.of(2L, 3L));
+    }
+
+    @Test
+    void fullBatchIsLoadedWithoutWaitingForTheRunningLoad() throws Exception {
+        RecordingLoader loader = new RecordingLoader();
+        CountDownLatch releaseFirst = loader.blockBatchContaining(1L);
+        BatchLoader<Long, String> batches = new BatchLoader<>(loader, LONG_WINDOW, 2);
+
+        Caller<String> first = Caller.start(() -> batches.load(1L));
+        loader.awaitBatches(1);
+        Caller<String> second = Caller.start(() -> batches.load(2L));
+        Caller.awaitBlocked(second);
+        Caller<String> third = Caller.start(() -> batches.load(3L));
+
+        assertThat(second.result()).isEqualTo("value-2");
+        assertThat(third.result()).isEqualTo("value-3");
+        assertThat(first.isDone()).isFalse();
+
+        releaseFirst.countDown();
+        assertThat(first.result()).isEqualTo("value-1");
+        assertThat(loader.batches).containsExactly(Set.of(1L), Set.of(2L, 3L));
+    }
+
+    @Test
+    void missingKeysLoadAsNull() {
+        BatchLoader<Long, String> batches = new BatchLoader<>(keys -> Map.of(), LONG_WINDOW, 100);
+
+        assertThat(batches.load(1L)).isNull();
+    }
+
+    @Test
+    void failedLoadIsRethrownToEveryCallerOfTheBatchAndLaterLoadsStillRun() throws Exception {
+        IllegalStateException failure = new IllegalStateException("database unavailable");
+        RecordingLoader loader = new RecordingLoader();
+        CountDownLatch releaseFirst = loader.blockBatchContaining(1L);
+        loader.failBatchContaining(2L, failure);
+        BatchLoader<Long, String> batches = new BatchLoader<>(loader, LONG_WINDOW, 100);
+
+        Caller<String> first = Caller.start(() -> batches.load(1L));
+        loader.awaitBatches(1);
+        Caller<String> second = Caller.start(() -> batches.load(2L));
+        Caller<String> third = Caller.start(() -> batches.load(3L));
+        Caller.awaitBlocked(second, third);
+        releaseFirst.countDown();
+
+        assertThat(first.result()).isEqualTo("value-1");
+        assertThat(second.failure()).isSameAs(failure);
+        assertThat(third.failure()).isSameAs(failure);
+        assertThat(batches.load(4L)).isEqualTo("value-4");
+        assertThat(loader.batches).containsExactly(Set.of(1L), Set.of(2L, 3L), Set.of(4L));
+    }
+
+    @Test
+    void rejectsBatchSizeBelowOne() {
+        assertThatThrownBy(() -> new BatchLoader<Long, String>(keys -> Map.of(), LONG_WINDOW, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Returns "value-<key>" for every key, records each batch, and can block or fail the batch containing a key
+    private static final class RecordingLoader implements Function<Set<Long>, Map<Long, String>> {
+
+        private final List<Set<Long>> batches = new CopyOnWriteArrayList<>();
+        private final Map<Long, CountDownLatch> blocks = new HashMap<>();
+        private final Map<Long, RuntimeException> failures = new HashMap<>();
+
+        CountDownLatch blockBatchContaining(long key) {
+            CountDownLatch latch = new CountDownLatch(1);
+            blocks.put(key, latch);
+            return latch;
+        }
+
+        void failBatchContaining(long key, RuntimeException failure) {
+            failures.put(key, failure);
+        }
+
+        void awaitBatches(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (batches.size() < count) {
+                assertThat(System.nanoTime()).as("waiting for %d batches", count).isLessThan(deadline);
+                Thread.sleep(1);
+            }
+        }
+
+        @Override
+        public Map<Long, String> apply(Set<Long> keys) {
+            batches.add(Set.copyOf(keys));
+            for (Long key : keys) {
+                CountDownLatch block = blocks.get(key);
+                if (block != null) {
+                    try {
+                        block.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                RuntimeException failure = failures.get(key);
+                if (failure != null) {
+                    throw failure;
+                }
+            }
+            Map<Long, String> values = new HashMap<>();
+            keys.forEach(key -> values.put(key, "value-" + key));
+            return values;
+        }
+
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.brendan.springdock.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A call running on its own thread, used by the tests of the loaders shared between concurrent callers.
+ *
+ * @param thread The thread running the call
+ * @param task The call, holding its result or failure once done
+ */
+record Caller<V>(Thread thread, FutureTask<V> task) {
+
+    static <V> Caller<V> start(Callable<V> call) {
+        FutureTask<V> task = new FutureTask<>(call);
+        Thread thread = new Thread(task);
+        thread.setDaemon(true);
+        thread.start();
+        return new Caller<>(thread, task);
+    }
+
+    // Waits until every caller is parked, waiting for a load or a batch
+    static void awaitBlocked(Caller<?>... callers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        for (Caller<?> caller : callers) {
+            while (caller.thread.getState() != Thread.State.WAITING && caller.thread.getState() != Thread.State.TIMED_WAITING) {
+                assertThat(System.nanoTime()).as("waiting for %s to block", caller.thread.getName()).isLessThan(deadline);
+                Thread.sleep(1);
+            }
+        }
+    }
+
+    boolean isDone() {
+        return task.isDone();
+    }
+
+    V result() throws Exception {
+        return task.get(10, TimeUnit.SECONDS);
+    }
+
+    Throwable failure() throws Exception {
+        try {
+            task.get(10, TimeUnit.SECONDS);
+        } catch (ExecutionException ex) {
+            return ex.getCause();
+        }
+        throw new AssertionError("The call did not fail.");
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.brendan.springdock.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests how SingleFlight shares, releases and detaches loads between concurrent callers.
+ */
+class SingleFlightTest {
+
+    @Test
+    void loneCallerLoadsAndTheResultIsNotKept() {
+        SingleFlight<Long, String> loads = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThat(loads.load(1L, key -> "value-" + key + "-" + calls.incrementAndGet())).isEqualTo("value-1-1");
+        assertThat(loads.load(1L, key -> "value-" + key + "-" + calls.incrementAndGet())).isEqualTo("value-1-2");
+    }
+
+    @Test
+    void concurrentCallersForTheSameKeyShareOneLoad() throws Exception {
+        SingleFlight<Long, String> loads = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Caller<String> first = Caller.start(() -> loads.load(1L, key -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "value-" + key;
+        }));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        Caller<String> second = Caller.start(() -> loads.load(1L, key -> {
+            calls.incrementAndGet();
+            return "second-load";
+        }));
+        Caller.awaitBlocked(second);
+        release.countDown();
+
+        assertThat(first.result()).isEqualTo("value-1");
+        assertThat(second.result()).isEqualTo("value-1");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void failedLoadIsRethrownToEveryCallerAndTheKeyIsReleased() throws Exception {
+        SingleFlight<Long, String> loads = new SingleFlight<>();
+        IllegalStateException failure = new IllegalStateException("database unavailable");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Caller<String> first = Caller.start(() -> loads.load(1L, key -> {
+            started.countDown();
+            await(release);
+            throw failure;
+        }));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        Caller<String> second = Caller.start(() -> loads.load(1L, key -> "second-load"));
+        Caller.awaitBlocked(second);
+        release.countDown();
+
+        assertThat(first.failure()).isSameAs(failure);
+        assertThat(second.failure()).isSameAs(failure);
+        assertThat(loads.load(1L, key -> "value-" + key)).isEqualTo("value-1");
+    }
+
+    @Test
+    void forgetDuringALoadStartsANewLoadForLaterCallers() throws Exception {
+        SingleFlight<Long, String> loads = new SingleFlight<>();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Caller<String> first = Caller.start(() -> loads.load(1L, key -> {
+            started.countDown();
+            await(release);
+            return "old";
+        }));
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        Caller<String> joined = Caller.start(() -> loads.load(1L, key -> "unexpected"));
+        Caller.awaitBlocked(joined);
+
+        loads.forget(1L);
+        assertThat(loads.load(1L, key -> "new")).isEqualTo("new");
+
+        release.countDown();
+        assertThat(first.result()).isEqualTo("old");
+        assertThat(joined.result()).isEqualTo("old");
+        // The finished old load must not release a newer load of the key
+        assertThat(loads.load(1L, key -> "newest")).isEqualTo("newest");
+    }
+
+    @Test
+    void failureOfTheLoaderIsThrownToALoneCaller() {
+        SingleFlight<Long, String> loads = new SingleFlight<>();
+
+        assertThatThrownBy(() -> loads.load(1L, key -> {
+            throw new IllegalStateException("database unavailable");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("database unavailable");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}